@@ -0,0 +1,47 @@
+#!/bin/sh
+# Warm-start build for batch jobs that launch TeamMate many times.
+# Compiles the app into out/cds/teammate.jar (class sharing needs a jar on the
+# class path, not a directory) and records an AppCDS archive from a
+# representative load-form-save run, so later launches map the app's classes
+# from the archive instead of loading and verifying them again.
+# On JDK 24+ it also records an ahead-of-time cache (-XX:AOTCache).
+#
+#   scripts/build-cds.sh           build classes and archives
+#   scripts/build-cds.sh --bench   also run the startup benchmark
+#
+# Run the app with:  java -XX:SharedArchiveFile=out/cds/teammate.jsa -jar out/cds/teammate.jar
+set -e
+cd "$(dirname "$0")/.."
+
+OUT=out/cds
+CLASSES="$OUT/classes"
+JAR="$OUT/teammate.jar"
+ARCHIVE="$OUT/teammate.jsa"
+AOT_CACHE="$OUT/teammate.aot"
+SAMPLE=datafiles/participants_sample.csv
+
+rm -rf "$OUT"
+mkdir -p "$CLASSES"
+
+echo "Compiling sources into $CLASSES"
+javac -encoding UTF-8 -d "$CLASSES" $(find src -name '*.java')
+jar --create --file "$JAR" --main-class TeamMate -C "$CLASSES" .
+
+# Training run writes its teams under out/ so the sample output isn't touched
+TRAINING="TeamMate --batch $SAMPLE 5 $OUT/training_teams.csv"
+
+echo "Recording AppCDS archive $ARCHIVE"
+java -XX:ArchiveClassesAtExit="$ARCHIVE" -cp "$JAR" $TRAINING
+
+VERSION=$(java -XshowSettings:properties -version 2>&1 | sed -n 's/.*java.specification.version = //p')
+if [ "${VERSION%%.*}" -ge 24 ] 2>/dev/null; then
+    echo "Recording AOT cache $AOT_CACHE"
+    java -XX:AOTMode=record -XX:AOTConfiguration="$OUT/teammate.aotconf" -cp "$JAR" $TRAINING
+    java -XX:AOTMode=create -XX:AOTConfiguration="$OUT/teammate.aotconf" -XX:AOTCache="$AOT_CACHE" -cp "$JAR"
+else
+    AOT_CACHE=""
+fi
+
+if [ "$1" = "--bench" ]; then
+    java -cp "$JAR" benchmark.StartupBenchmark "$JAR" "$ARCHIVE" 20 "$SAMPLE" $AOT_CACHE
+fi
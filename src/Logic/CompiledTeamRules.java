@@ -0,0 +1,274 @@
+package Logic;
+
+import model.Participant;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+//TeamRules turned into flat counters per team, so every check is a few array reads
+//instead of a stream over the team's members. Each participant's personality, game and role
+//indexes are looked up once, at compile time; callers resolve() a participant once and pass
+//the Candidate to the checks (and custom constraints) for every team they try.
+public class CompiledTeamRules {
+    private int numTeams;
+    private int teamSize;
+
+    // Every personality type, game and role seen in the roster gets an index
+    private Map<String, Integer> personalityIndex = new HashMap<>();
+    private Map<String, Integer> gameIndex = new HashMap<>();
+    private Map<String, Integer> roleIndex = new HashMap<>();
+
+    // Caps by personality index, and the shared per-game cap
+    private int[] personalityCaps;
+    private int gameCap;
+
+    // Scoring weights
+    private double lowSkillThreshold;
+    private int lowSkillWeight;
+    private int missingRoleWeight;
+    private int smallTeamWeight;
+    private int smallTeamMargin;
+
+    private static final TeamConstraint[] NO_CONSTRAINTS = new TeamConstraint[0];
+
+    private TeamConstraint[] constraints;
+    private List<Participant> participants;
+    private Map<Participant, Candidate> candidates = new IdentityHashMap<>();
+
+    // Counters, laid out as [team * count + index]
+    private int[] sizes;
+    private int[] skillSums;
+    private int[] personalityCounts;
+    private int[] gameCounts;
+    private int[] roleCounts;
+
+    CompiledTeamRules(TeamRules rules, List<Participant> participants, int numTeams, int teamSize,
+                      List<Function<CompiledTeamRules, TeamConstraint>> constraintFactories) {
+        this.numTeams = numTeams;
+        this.teamSize = teamSize;
+
+        for (Participant p : participants) {
+            personalityIndex.putIfAbsent(p.getPersonalityType(), personalityIndex.size());
+            gameIndex.putIfAbsent(p.getPreferredGame(), gameIndex.size());
+            roleIndex.putIfAbsent(p.getPreferredRole(), roleIndex.size());
+        }
+
+        personalityCaps = new int[personalityIndex.size()];
+        for (Map.Entry<String, Integer> entry : personalityIndex.entrySet()) {
+            personalityCaps[entry.getValue()] = rules.getPersonalityCap(entry.getKey());
+        }
+        gameCap = rules.getGameCap();
+
+        lowSkillThreshold = rules.getLowSkillThreshold();
+        lowSkillWeight = rules.getLowSkillWeight();
+        missingRoleWeight = rules.getMissingRoleWeight();
+        smallTeamWeight = rules.getSmallTeamWeight();
+        smallTeamMargin = rules.getSmallTeamMargin();
+
+        sizes = new int[numTeams];
+        skillSums = new int[numTeams];
+        personalityCounts = new int[numTeams * personalityIndex.size()];
+        gameCounts = new int[numTeams * gameIndex.size()];
+        roleCounts = new int[numTeams * roleIndex.size()];
+
+        this.participants = participants;
+        for (int i = 0; i < participants.size(); i++) {
+            candidates.putIfAbsent(participants.get(i), newCandidate(participants.get(i), i));
+        }
+
+        // Constraints are made last, once the counters they read exist
+        this.constraints = new TeamConstraint[constraintFactories.size()];
+        for (int i = 0; i < constraints.length; i++) {
+            constraints[i] = constraintFactories.get(i).apply(this);
+        }
+        for (Candidate candidate : candidates.values()) {
+            candidate.constraints = constraintsFor(candidate);
+        }
+    }
+
+    //The participant with their counter indexes, looked up at compile time
+    public Candidate resolve(Participant p) {
+        Candidate candidate = candidates.get(p);
+        if (candidate == null) {
+            candidate = newCandidate(p, -1);
+            candidate.constraints = constraintsFor(candidate);
+        }
+        return candidate;
+    }
+
+    //Checks team size, personality cap, game cap and any custom constraints
+    public boolean canPlace(int team, Candidate c) {
+        if (c.personality >= 0 && personalityCounts[team * personalityIndex.size() + c.personality] >= personalityCaps[c.personality]) {
+            return false;
+        }
+        return canFill(team, c);
+    }
+
+    //Same checks as canPlace but ignoring personality caps, used for the Balanced fill
+    public boolean canFill(int team, Candidate c) {
+        if (sizes[team] >= teamSize) return false;
+        if (gameCountAt(team, c.game) >= gameCap) return false;
+        return c.constraints.length == 0 || allowedByConstraints(team, c);
+    }
+
+    //Kept out of canFill so the common no-constraint path stays small enough to inline
+    private boolean allowedByConstraints(int team, Candidate c) {
+        for (TeamConstraint constraint : c.constraints) {
+            if (!constraint.allows(this, team, c)) return false;
+        }
+        return true;
+    }
+
+    public int score(int team, Candidate c) {
+        int score = 0;
+
+        // Prefer teams with lower average skill (for balancing)
+        if (sizes[team] == 0 || skillSums[team] < lowSkillThreshold * sizes[team]) score += lowSkillWeight;
+
+        // Prefer teams that need this role
+        if (!hasRoleAt(team, c.role)) score += missingRoleWeight;
+
+        // Prefer teams with fewer members
+        if (sizes[team] < teamSize - smallTeamMargin) score += smallTeamWeight;
+
+        return score;
+    }
+
+    //Records a participant as placed in the team; the caller adds them to the Team itself
+    public void place(int team, Candidate c) {
+        sizes[team]++;
+        skillSums[team] += c.participant.getSkillLevel();
+        if (c.personality >= 0) personalityCounts[team * personalityIndex.size() + c.personality]++;
+        if (c.game >= 0) gameCounts[team * gameIndex.size() + c.game]++;
+        if (c.role >= 0) roleCounts[team * roleIndex.size() + c.role]++;
+
+        for (TeamConstraint constraint : constraints) {
+            constraint.onPlaced(team, c);
+        }
+    }
+
+    public int getNumTeams() {
+        return numTeams;
+    }
+
+    public int getTeamSize() {
+        return teamSize;
+    }
+
+    public int getGameCap() {
+        return gameCap;
+    }
+
+    public int getMissingRoleWeight() {
+        return missingRoleWeight;
+    }
+
+    public int getPersonalityCap(String personalityType) {
+        int personality = indexOf(personalityIndex, personalityType);
+        return personality >= 0 ? personalityCaps[personality] : Integer.MAX_VALUE;
+    }
+
+    //Roster the rules were compiled for; Candidate.getIndex() is a position in this list
+    List<Participant> getParticipants() {
+        return participants;
+    }
+
+    //Places left under the cap, by counter index as held in a Candidate
+    int personalityRoom(int team, int personality) {
+        return personality >= 0
+                ? personalityCaps[personality] - personalityCounts[team * personalityIndex.size() + personality]
+                : Integer.MAX_VALUE;
+    }
+
+    int gameRoom(int team, int game) {
+        return gameCap - gameCountAt(team, game);
+    }
+
+    public int size(int team) {
+        return sizes[team];
+    }
+
+    public int skillSum(int team) {
+        return skillSums[team];
+    }
+
+    public int personalityCount(int team, String personalityType) {
+        int personality = indexOf(personalityIndex, personalityType);
+        return personality >= 0 ? personalityCounts[team * personalityIndex.size() + personality] : 0;
+    }
+
+    public int gameCount(int team, String game) {
+        return gameCountAt(team, indexOf(gameIndex, game));
+    }
+
+    public boolean hasRole(int team, String role) {
+        return hasRoleAt(team, indexOf(roleIndex, role));
+    }
+
+    private boolean hasRoleAt(int team, int role) {
+        return role >= 0 && roleCounts[team * roleIndex.size() + role] > 0;
+    }
+
+    private int gameCountAt(int team, int game) {
+        return game >= 0 ? gameCounts[team * gameIndex.size() + game] : 0;
+    }
+
+    //Only the constraints that can turn the candidate down, so most probes skip the calls
+    private TeamConstraint[] constraintsFor(Candidate candidate) {
+        int count = 0;
+        TeamConstraint[] applying = new TeamConstraint[constraints.length];
+        for (TeamConstraint constraint : constraints) {
+            if (constraint.appliesTo(candidate)) applying[count++] = constraint;
+        }
+        return count == constraints.length ? constraints : count == 0 ? NO_CONSTRAINTS : Arrays.copyOf(applying, count);
+    }
+
+    private Candidate newCandidate(Participant p, int index) {
+        return new Candidate(p, index, indexOf(personalityIndex, p.getPersonalityType()),
+                indexOf(gameIndex, p.getPreferredGame()), indexOf(roleIndex, p.getPreferredRole()));
+    }
+
+    private static int indexOf(Map<String, Integer> index, String key) {
+        Integer value = index.get(key);
+        return value != null ? value : -1;
+    }
+
+    //A participant with their roster position and personality, game and role counter indexes
+    //(-1 if not in the roster)
+    public static class Candidate {
+        private final Participant participant;
+        private final int index;
+        private final int personality;
+        private final int game;
+        private final int role;
+        private TeamConstraint[] constraints = NO_CONSTRAINTS; // custom constraints that apply to them
+
+        private Candidate(Participant participant, int index, int personality, int game, int role) {
+            this.participant = participant;
+            this.index = index;
+            this.personality = personality;
+            this.game = game;
+            this.role = role;
+        }
+
+        public Participant getParticipant() {
+            return participant;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        int getPersonalityIndex() {
+            return personality;
+        }
+
+        int getGameIndex() {
+            return game;
+        }
+    }
+}
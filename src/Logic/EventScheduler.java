@@ -0,0 +1,192 @@
+package Logic;
+
+import filehandling.CSVFileHandler;
+import model.Participant;
+import model.Team;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+//Runs team formation for many events at once on a shared work-stealing pool.
+//Each event keeps its own roster, rules and output folder. Higher priority events go first;
+//events with the same priority take turns (fewest started jobs first), and an event only
+//runs one job at a time so a busy event can't take over the pool.
+public class EventScheduler {
+    private ForkJoinPool pool;
+    private int parallelism;
+    private String outputRoot;
+    private CSVFileHandler fileHandler = new CSVFileHandler();
+
+    private Map<String, EventState> events = new LinkedHashMap<>();
+    private Set<String> folderNames = new HashSet<>();
+    private int running;
+    private int outstanding;
+
+    public EventScheduler(int parallelism, String outputRoot) {
+        this.parallelism = parallelism;
+        this.outputRoot = outputRoot;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public synchronized void registerEvent(String eventId, List<Participant> roster, int priority) {
+        registerEvent(eventId, roster, priority, TeamRules.defaults());
+    }
+
+    public synchronized void registerEvent(String eventId, List<Participant> roster, int priority, TeamRules rules) {
+        if (events.containsKey(eventId)) {
+            throw new IllegalArgumentException("Event already registered: " + eventId);
+        }
+        events.put(eventId, new EventState(eventId, uniqueFolderName(eventId), new ArrayList<>(roster), priority, rules));
+    }
+
+    //Queues a formation run for the event; teams are written to <outputRoot>/<event>/formed_teams_<n>.csv,
+    //where n counts the event's jobs from 1, so two runs of the same event never share a file
+    public synchronized FormationJob submit(String eventId, int teamSize) {
+        EventState event = events.get(eventId);
+        if (event == null) {
+            throw new IllegalArgumentException("Unknown event: " + eventId);
+        }
+        if (teamSize < 1) {
+            throw new IllegalArgumentException("Team size must be positive: " + teamSize);
+        }
+        if (event.roster.size() < teamSize) {
+            throw new IllegalArgumentException("Not enough participants in " + eventId + "! Need at least "
+                    + teamSize + ", but have " + event.roster.size());
+        }
+
+        File folder = new File(outputRoot, event.folderName);
+        folder.mkdirs();
+        String fileName = "formed_teams_" + (event.jobs.size() + 1) + ".csv";
+        FormationJob job = new FormationJob(eventId, teamSize, new File(folder, fileName).getPath());
+
+        event.pending.add(job);
+        event.jobs.add(job);
+        outstanding++;
+        dispatch();
+        return job;
+    }
+
+    //Blocks until every submitted job has finished
+    public synchronized void awaitAll() throws InterruptedException {
+        while (outstanding > 0) {
+            wait();
+        }
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public synchronized void printReport() {
+        System.out.println("\n════════════════ EVENT REPORT ════════════════");
+        System.out.printf("%-16s %-8s %-6s %-7s %-14s %-14s%n", "Event", "Priority", "Jobs", "Failed", "Avg queue ms", "Avg run ms");
+        for (EventState event : events.values()) {
+            // Failed jobs are counted on their own and kept out of the averages
+            int done = 0;
+            int failed = 0;
+            double queue = 0, run = 0;
+            for (FormationJob job : event.jobs) {
+                if (!job.isFinished()) continue;
+                if (job.getError() != null) {
+                    failed++;
+                    continue;
+                }
+                done++;
+                queue += job.getQueueMillis();
+                run += job.getRunMillis();
+            }
+            System.out.printf("%-16s %-8d %-6d %-7d %-14.2f %-14.2f%n", event.eventId, event.priority, done, failed,
+                    done > 0 ? queue / done : 0, done > 0 ? run / done : 0);
+        }
+    }
+
+    public synchronized List<FormationJob> getJobs(String eventId) {
+        EventState event = events.get(eventId);
+        return event != null ? new ArrayList<>(event.jobs) : new ArrayList<>();
+    }
+
+    //Starts queued jobs while workers are free. Caller holds the lock.
+    private void dispatch() {
+        while (running < parallelism) {
+            EventState next = null;
+            for (EventState event : events.values()) {
+                if (event.running || event.pending.isEmpty()) continue;
+                if (next == null || event.priority > next.priority
+                        || (event.priority == next.priority && event.started < next.started)) {
+                    next = event;
+                }
+            }
+            if (next == null) return;
+
+            FormationJob job = next.pending.poll();
+            next.running = true;
+            next.started++;
+            running++;
+            EventState event = next;
+            pool.execute(() -> runJob(event, job));
+        }
+    }
+
+    //Event IDs are reduced to safe folder names; IDs that reduce to the same name (e.g. "a b" and "a_b")
+    //get a numeric suffix so no two events write into the same folder. Caller holds the lock.
+    private String uniqueFolderName(String eventId) {
+        String base = eventId.replaceAll("[^A-Za-z0-9_-]", "_");
+        String name = base;
+        for (int n = 2; !folderNames.add(name); n++) {
+            name = base + "-" + n;
+        }
+        return name;
+    }
+
+    private void runJob(EventState event, FormationJob job) {
+        job.markStarted();
+        List<Team> teams = null;
+        Throwable error = null;
+        try {
+            TeamBuilder builder = new TeamBuilder(event.roster, job.getTeamSize(), event.rules);
+            builder.setVerbose(false);
+            teams = builder.call();
+            fileHandler.saveTeams(teams, job.getOutputPath());
+        } catch (Throwable e) {
+            error = e;
+            System.out.println("Error forming teams for " + event.eventId + ": " + e);
+        } finally {
+            // Always release the event and the worker, or awaitAll would never return
+            job.markFinished(teams, error);
+            synchronized (this) {
+                event.running = false;
+                running--;
+                outstanding--;
+                dispatch();
+                notifyAll();
+            }
+        }
+    }
+
+    private static class EventState {
+        private String eventId;
+        private String folderName;
+        private List<Participant> roster;
+        private int priority;
+        private TeamRules rules;
+        private ArrayDeque<FormationJob> pending = new ArrayDeque<>();
+        private List<FormationJob> jobs = new ArrayList<>();
+        private boolean running;
+        private int started;
+
+        private EventState(String eventId, String folderName, List<Participant> roster, int priority, TeamRules rules) {
+            this.eventId = eventId;
+            this.folderName = folderName;
+            this.roster = roster;
+            this.priority = priority;
+            this.rules = rules;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package Logic;
+
+import model.Team;
+
+import java.util.List;
+
+//One team formation run for an event, with the timings the scheduler reports.
+//Written by a pool worker and read by other threads: finishedAt is set last, so once
+//isFinished() is true the teams, error and timings are visible too.
+public class FormationJob {
+    private String eventId;
+    private int teamSize;
+    private String outputPath;
+    private long submittedAt;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile List<Team> teams;
+    private volatile Throwable error;
+
+    public FormationJob(String eventId, int teamSize, String outputPath) {
+        this.eventId = eventId;
+        this.teamSize = teamSize;
+        this.outputPath = outputPath;
+        this.submittedAt = System.nanoTime();
+    }
+
+    void markStarted() {
+        startedAt = System.nanoTime();
+    }
+
+    void markFinished(List<Team> teams, Throwable error) {
+        this.teams = teams;
+        this.error = error;
+        this.finishedAt = System.nanoTime();
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public int getTeamSize() {
+        return teamSize;
+    }
+
+    public String getOutputPath() {
+        return outputPath;
+    }
+
+    public List<Team> getTeams() {
+        return teams;
+    }
+
+    //Whatever stopped the run (including errors such as OutOfMemoryError), null on success
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != 0;
+    }
+
+    //Time spent waiting for a worker
+    public double getQueueMillis() {
+        return (startedAt - submittedAt) / 1_000_000.0;
+    }
+
+    //Time spent forming and saving teams
+    public double getRunMillis() {
+        return (finishedAt - startedAt) / 1_000_000.0;
+    }
+}
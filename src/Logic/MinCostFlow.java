@@ -0,0 +1,173 @@
+package Logic;
+
+import java.util.Arrays;
+
+//Min-cost max-flow on primitive arrays (successive shortest paths with Dijkstra and potentials).
+//Edges are stored in pairs, so edge e and its reverse are e and e ^ 1.
+public class MinCostFlow {
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private int nodeCount;
+    private int[] head;
+    private int[] next;
+    private int[] to;
+    private int[] cap;
+    private int[] cost;
+    private int edgeCount;
+
+    private long totalFlow;
+    private long totalCost;
+
+    // Binary heap of (distance, node) for Dijkstra
+    private long[] heapKeys;
+    private int[] heapNodes;
+    private int heapSize;
+
+    public MinCostFlow(int nodeCount, int expectedEdges) {
+        this.nodeCount = nodeCount;
+        this.head = new int[nodeCount];
+        Arrays.fill(head, -1);
+
+        int capacity = Math.max(16, expectedEdges * 2);
+        this.next = new int[capacity];
+        this.to = new int[capacity];
+        this.cap = new int[capacity];
+        this.cost = new int[capacity];
+    }
+
+    //Adds an edge and its zero-capacity reverse, returning the index of the forward edge
+    public int addEdge(int from, int toNode, int capacity, int edgeCost) {
+        if (cost.length < edgeCount + 2) grow();
+
+        int e = edgeCount;
+        link(e, from, toNode, capacity, edgeCost);
+        link(e + 1, toNode, from, 0, -edgeCost);
+        edgeCount += 2;
+        return e;
+    }
+
+    //Flow currently sent along a forward edge
+    public int flow(int edge) {
+        return cap[edge ^ 1];
+    }
+
+    public long getTotalFlow() {
+        return totalFlow;
+    }
+
+    public long getTotalCost() {
+        return totalCost;
+    }
+
+    //Pushes as much flow as possible at minimum cost. Returns false if the deadline passed first,
+    //in which case the flow found so far is feasible but not necessarily optimal.
+    public boolean solve(int source, int sink, long deadlineNanos) {
+        long[] potential = new long[nodeCount];
+        long[] dist = new long[nodeCount];
+        int[] prevEdge = new int[nodeCount];
+
+        heapKeys = new long[Math.max(16, edgeCount)];
+        heapNodes = new int[heapKeys.length];
+
+        while (true) {
+            if (System.nanoTime() > deadlineNanos) return false;
+
+            // Shortest path on reduced costs, which stay non-negative thanks to the potentials
+            Arrays.fill(dist, INF);
+            dist[source] = 0;
+            heapSize = 0;
+            push(0, source);
+
+            while (heapSize > 0) {
+                long d = heapKeys[0];
+                int u = heapNodes[0];
+                pop();
+                if (d > dist[u]) continue;
+
+                for (int e = head[u]; e != -1; e = next[e]) {
+                    if (cap[e] <= 0) continue;
+                    int v = to[e];
+                    long nd = d + cost[e] + potential[u] - potential[v];
+                    if (nd < dist[v]) {
+                        dist[v] = nd;
+                        prevEdge[v] = e;
+                        push(nd, v);
+                    }
+                }
+            }
+
+            if (dist[sink] == INF) return true; // No augmenting path left
+
+            for (int v = 0; v < nodeCount; v++) {
+                if (dist[v] < INF) potential[v] += dist[v];
+            }
+
+            // Bottleneck along the path, then augment
+            int amount = Integer.MAX_VALUE;
+            for (int v = sink; v != source; v = to[prevEdge[v] ^ 1]) {
+                amount = Math.min(amount, cap[prevEdge[v]]);
+            }
+            for (int v = sink; v != source; v = to[prevEdge[v] ^ 1]) {
+                int e = prevEdge[v];
+                cap[e] -= amount;
+                cap[e ^ 1] += amount;
+                totalCost += (long) amount * cost[e];
+            }
+            totalFlow += amount;
+        }
+    }
+
+    private void link(int e, int from, int toNode, int capacity, int edgeCost) {
+        to[e] = toNode;
+        cap[e] = capacity;
+        cost[e] = edgeCost;
+        next[e] = head[from];
+        head[from] = e;
+    }
+
+    private void grow() {
+        int capacity = cost.length * 2;
+        next = Arrays.copyOf(next, capacity);
+        to = Arrays.copyOf(to, capacity);
+        cap = Arrays.copyOf(cap, capacity);
+        cost = Arrays.copyOf(cost, capacity);
+    }
+
+    private void push(long key, int node) {
+        if (heapSize == heapKeys.length) {
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+            heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+        }
+
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (heapKeys[parent] <= key) break;
+            heapKeys[i] = heapKeys[parent];
+            heapNodes[i] = heapNodes[parent];
+            i = parent;
+        }
+        heapKeys[i] = key;
+        heapNodes[i] = node;
+    }
+
+    private void pop() {
+        heapSize--;
+        if (heapSize == 0) return;
+
+        long key = heapKeys[heapSize];
+        int node = heapNodes[heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) child++;
+            if (heapKeys[child] >= key) break;
+            heapKeys[i] = heapKeys[child];
+            heapNodes[i] = heapNodes[child];
+            i = child;
+        }
+        heapKeys[i] = key;
+        heapNodes[i] = node;
+    }
+}
@@ -0,0 +1,209 @@
+package Logic;
+
+import model.Participant;
+import model.Team;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//Team builder that places the Balanced fill phase with a min-cost flow instead of greedily.
+//The flow minimises a per-slot surrogate (skill distance to each team's target, plus a role penalty),
+//not the skill deviation itself, so the result is usually better balanced than greedy but not optimal.
+//Leaders, Thinkers, must-together groups and leftovers are still placed by TeamBuilder.
+//
+//Flow network: source -> participant class -> (team, role) -> team -> sink
+//  - a class groups Balanced participants with the same skill, role and game
+//  - class -> (team, role) costs how far the participant's skill is from what the team needs to reach
+//    the overall average skill, in tenths of a skill point; its capacity is the game cap room for the
+//    class's game, and the game cap is checked again on placement since classes can share a game
+//  - (team, role) -> team has two arcs: one free slot if the team lacks the role, and the rest at the
+//    missing-role weight, so a second player of a role pays the penalty and the first doesn't
+//  - team capacity is its free slots (and any cap on Balanced members)
+//Cheapest assignments are placed first; whoever then breaks a game cap goes into another, smaller
+//round of the flow over the slots still free, and greedy placement takes anyone left after that.
+public class OptimalTeamBuilder extends TeamBuilder {
+    private static final int COST_SCALE = 10;
+
+    private long timeLimitMillis;
+    private boolean timedOut; // the last run hit the time limit and fell back to greedy placement
+
+    public OptimalTeamBuilder(List<Participant> participants, int teamSize, long timeLimitMillis) {
+        this(participants, teamSize, TeamRules.defaults(), timeLimitMillis);
+    }
+
+    public OptimalTeamBuilder(List<Participant> participants, int teamSize, TeamRules rules, long timeLimitMillis) {
+        super(participants, teamSize, rules);
+        this.timeLimitMillis = timeLimitMillis;
+    }
+
+    //True if the last run ran out of time and placed the rest of the Balanced fill greedily
+    public boolean hitTimeLimit() {
+        return timedOut;
+    }
+
+    @Override
+    protected void fillWithConstraints(List<Team> teams, List<Participant> balancedParticipants) {
+        timedOut = false;
+        balancedParticipants.removeIf(this::isPlaced); // already in with their group
+
+        // Groups are not part of the network, so they go through the greedy fill first, while teams have room
+        List<Participant> grouped = new ArrayList<>();
+        for (Participant p : balancedParticipants) {
+            if (isGrouped(p)) grouped.add(p);
+        }
+        if (!grouped.isEmpty()) {
+            super.fillWithConstraints(teams, grouped);
+            balancedParticipants.removeIf(this::isPlaced);
+        }
+
+        long deadline = System.nanoTime() + timeLimitMillis * 1_000_000;
+
+        int before;
+        do {
+            before = balancedParticipants.size();
+            if (before == 0) return;
+            if (!fillByFlow(teams, balancedParticipants, deadline)) {
+                timedOut = true;
+                if (isVerbose()) System.out.println("Optimal fill hit the " + timeLimitMillis + "ms limit, using greedy placement instead");
+                break;
+            }
+        } while (balancedParticipants.size() < before);
+
+        // Anyone the flow could not place goes through the greedy fill
+        if (!balancedParticipants.isEmpty()) {
+            super.fillWithConstraints(teams, balancedParticipants);
+        }
+    }
+
+    //One round: solves the network for the free slots and places whoever fits, removing them from
+    //balancedParticipants. Returns false if the deadline passed before the flow was solved.
+    private boolean fillByFlow(List<Team> teams, List<Participant> balancedParticipants, long deadline) {
+        CompiledTeamRules compiled = getCompiledRules();
+        int numTeams = teams.size();
+
+        // Group identical participants so the network stays small
+        Map<String, Integer> classIndex = new HashMap<>();
+        List<List<Participant>> classes = new ArrayList<>();
+        List<String> roles = new ArrayList<>();
+        Map<String, Integer> roleIndex = new HashMap<>();
+        for (Participant p : balancedParticipants) {
+            String key = p.getSkillLevel() + "," + p.getPreferredRole() + "," + p.getPreferredGame();
+            Integer c = classIndex.get(key);
+            if (c == null) {
+                c = classes.size();
+                classIndex.put(key, c);
+                classes.add(new ArrayList<>());
+            }
+            classes.get(c).add(p);
+
+            if (!roleIndex.containsKey(p.getPreferredRole())) {
+                roleIndex.put(p.getPreferredRole(), roles.size());
+                roles.add(p.getPreferredRole());
+            }
+        }
+
+        // Average skill every team should end up close to
+        long totalSkill = 0;
+        long totalCount = balancedParticipants.size();
+        for (Participant p : balancedParticipants) totalSkill += p.getSkillLevel();
+        for (int t = 0; t < numTeams; t++) {
+            totalSkill += compiled.skillSum(t);
+            totalCount += compiled.size(t);
+        }
+        double meanSkill = (double) totalSkill / totalCount;
+
+        int balancedCap = compiled.getPersonalityCap("Balanced");
+        int[] freeSlots = new int[numTeams];
+        double[] targetSkill = new double[numTeams];
+        for (int t = 0; t < numTeams; t++) {
+            long room = Math.min((long) compiled.getTeamSize() - compiled.size(t),
+                    (long) balancedCap - compiled.personalityCount(t, "Balanced"));
+            freeSlots[t] = (int) Math.max(0, room);
+            if (freeSlots[t] > 0) {
+                int finalSize = compiled.size(t) + freeSlots[t];
+                targetSkill[t] = (meanSkill * finalSize - compiled.skillSum(t)) / freeSlots[t];
+            }
+        }
+
+        // Node layout
+        int numClasses = classes.size();
+        int numRoles = roles.size();
+        int source = 0;
+        int firstClass = 1;
+        int firstTeamRole = firstClass + numClasses;
+        int firstTeam = firstTeamRole + numTeams * numRoles;
+        int sink = firstTeam + numTeams;
+        int extraRoleCost = COST_SCALE * compiled.getMissingRoleWeight();
+
+        MinCostFlow flow = new MinCostFlow(sink + 1, numClasses * (numTeams + 1) + numTeams * (2 * numRoles + 1));
+        for (int c = 0; c < numClasses; c++) {
+            flow.addEdge(source, firstClass + c, classes.get(c).size(), 0);
+        }
+        for (int t = 0; t < numTeams; t++) {
+            if (freeSlots[t] == 0) continue;
+            flow.addEdge(firstTeam + t, sink, freeSlots[t], 0);
+            for (int r = 0; r < numRoles; r++) {
+                int teamRole = firstTeamRole + t * numRoles + r;
+                if (!compiled.hasRole(t, roles.get(r))) {
+                    flow.addEdge(teamRole, firstTeam + t, 1, 0);
+                }
+                flow.addEdge(teamRole, firstTeam + t, freeSlots[t], extraRoleCost);
+            }
+        }
+
+        int[][] classEdges = new int[numClasses][numTeams];
+        int[][] costs = new int[numClasses][numTeams];
+        for (int c = 0; c < numClasses; c++) {
+            Participant sample = classes.get(c).get(0);
+            int r = roleIndex.get(sample.getPreferredRole());
+            for (int t = 0; t < numTeams; t++) {
+                classEdges[c][t] = -1;
+                if (freeSlots[t] == 0) continue;
+                int gameRoom = compiled.getGameCap() - compiled.gameCount(t, sample.getPreferredGame());
+                if (gameRoom <= 0) continue;
+
+                costs[c][t] = (int) Math.round(COST_SCALE * Math.abs(sample.getSkillLevel() - targetSkill[t]));
+                classEdges[c][t] = flow.addEdge(firstClass + c, firstTeamRole + t * numRoles + r,
+                        Math.min(classes.get(c).size(), gameRoom), costs[c][t]);
+            }
+        }
+
+        if (!flow.solve(source, sink, deadline)) return false;
+
+        // Class-to-team assignments, cheapest first, so a game cap turns away the worst fits
+        List<int[]> assignments = new ArrayList<>();
+        for (int c = 0; c < numClasses; c++) {
+            for (int t = 0; t < numTeams; t++) {
+                if (classEdges[c][t] >= 0 && flow.flow(classEdges[c][t]) > 0) {
+                    assignments.add(new int[]{costs[c][t], c, t, flow.flow(classEdges[c][t])});
+                }
+            }
+        }
+        assignments.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        // Hand out each class's members according to the flow
+        int[] nextMember = new int[numClasses];
+        Set<Participant> placed = new HashSet<>();
+        for (int[] assignment : assignments) {
+            int c = assignment[1];
+            int t = assignment[2];
+            List<Participant> members = classes.get(c);
+            for (int k = 0; k < assignment[3] && nextMember[c] < members.size(); k++) {
+                Participant p = members.get(nextMember[c]++);
+                // Classes sharing a game are bounded separately, and custom constraints are not part
+                // of the network, so check them on the way in
+                if (!compiled.canFill(t, compiled.resolve(p))) continue;
+                place(teams, t, p);
+                placed.add(p);
+                if (isVerbose()) System.out.println("Placed Balanced " + p.getName() + " in " + teams.get(t).getTeamName());
+            }
+        }
+
+        balancedParticipants.removeAll(placed);
+        return true;
+    }
+}
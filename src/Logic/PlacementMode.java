@@ -0,0 +1,7 @@
+package Logic;
+
+//How Leaders and Thinkers are spread over the teams
+public enum PlacementMode {
+    ROUND_ROBIN,  // shuffled order, one per team in turn
+    SNAKE_DRAFT   // strongest first, team order reversing every round (1..n, n..1, ...)
+}
@@ -0,0 +1,222 @@
+package Logic;
+
+import model.Participant;
+import model.ParticipantRelations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//Keeps must-together groups in one team and avoid pairs in different teams.
+//Groups are merged with union-find up front; after that every check is an array lookup
+//per avoided group, so the cost doesn't grow with roster size.
+//Group mates are placed along with the first member, so a group is only let into a team
+//if the whole group stays within the team's personality and game caps.
+//Built from the compiled rules so it can key its arrays by Candidate.getIndex() and keep group
+//tallies as counter indexes, without resolving IDs or type names on every check.
+public class RelationConstraint implements TeamConstraint {
+    private List<Participant> participants;
+
+    // Union-find over participant indexes, then flattened so root[i] is final
+    private int[] root;
+    private int[] groupSize;
+
+    // Members of each group and avoided groups per group, in CSR form (start offsets + flat array)
+    private int[] memberStart;
+    private int[] members;
+    private int[] avoidStart;
+    private int[] avoids;
+
+    // Personality and game counter indexes of each group with how many members have them, in CSR form
+    private int[] personalityStart;
+    private int[] personalities;
+    private int[] personalityCounts;
+    private int[] gameStart;
+    private int[] games;
+    private int[] gameCounts;
+
+    // Team each group went to, -1 while unplaced
+    private int[] teamOfGroup;
+
+    public RelationConstraint(ParticipantRelations relations, CompiledTeamRules rules) {
+        this.participants = rules.getParticipants();
+        int n = participants.size();
+        Map<String, Integer> idIndex = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            idIndex.put(participants.get(i).getId(), i);
+        }
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) parent[i] = i;
+        for (String[] pair : relations.getTogether()) {
+            int a = idIndex.getOrDefault(pair[0], -1);
+            int b = idIndex.getOrDefault(pair[1], -1);
+            if (a < 0 || b < 0) continue;
+            int ra = find(parent, a);
+            int rb = find(parent, b);
+            if (ra != rb) parent[ra] = rb;
+        }
+
+        root = new int[n];
+        groupSize = new int[n];
+        for (int i = 0; i < n; i++) {
+            root[i] = find(parent, i);
+            groupSize[root[i]]++;
+        }
+
+        memberStart = offsets(groupSize);
+        members = new int[n];
+        int[] fill = memberStart.clone();
+        for (int i = 0; i < n; i++) {
+            members[fill[root[i]]++] = i;
+        }
+
+        // Count each group's personality types and games once, so a check is a few lookups per group
+        List<Map<Integer, Integer>> personalityTally = new ArrayList<>();
+        List<Map<Integer, Integer>> gameTally = new ArrayList<>();
+        for (int g = 0; g < n; g++) {
+            Map<Integer, Integer> byPersonality = new LinkedHashMap<>();
+            Map<Integer, Integer> byGame = new LinkedHashMap<>();
+            for (int k = memberStart[g]; groupSize[g] > 1 && k < memberStart[g + 1]; k++) {
+                CompiledTeamRules.Candidate member = rules.resolve(participants.get(members[k]));
+                byPersonality.merge(member.getPersonalityIndex(), 1, Integer::sum);
+                byGame.merge(member.getGameIndex(), 1, Integer::sum);
+            }
+            personalityTally.add(byPersonality);
+            gameTally.add(byGame);
+        }
+        personalityStart = new int[n + 1];
+        personalities = new int[n];
+        personalityCounts = new int[n];
+        flatten(personalityTally, personalityStart, personalities, personalityCounts);
+        gameStart = new int[n + 1];
+        games = new int[n];
+        gameCounts = new int[n];
+        flatten(gameTally, gameStart, games, gameCounts);
+
+        // Avoid pairs become edges between groups
+        List<int[]> edges = new ArrayList<>();
+        for (String[] pair : relations.getApart()) {
+            int a = idIndex.getOrDefault(pair[0], -1);
+            int b = idIndex.getOrDefault(pair[1], -1);
+            if (a < 0 || b < 0) continue;
+            if (root[a] == root[b]) {
+                System.out.println("Ignoring conflicting relation: " + pair[0] + " and " + pair[1] + " must be together and apart");
+                continue;
+            }
+            edges.add(new int[]{root[a], root[b]});
+            edges.add(new int[]{root[b], root[a]});
+        }
+        int[] avoidCount = new int[n];
+        for (int[] edge : edges) avoidCount[edge[0]]++;
+        avoidStart = offsets(avoidCount);
+        avoids = new int[edges.size()];
+        fill = avoidStart.clone();
+        for (int[] edge : edges) {
+            avoids[fill[edge[0]]++] = edge[1];
+        }
+
+        teamOfGroup = new int[n];
+        Arrays.fill(teamOfGroup, -1);
+    }
+
+    //Participants with no group and no avoid pair are never checked
+    @Override
+    public boolean appliesTo(CompiledTeamRules.Candidate candidate) {
+        int i = candidate.getIndex();
+        return i >= 0 && (groupSize[root[i]] > 1 || avoidStart[root[i]] < avoidStart[root[i] + 1]);
+    }
+
+    @Override
+    public boolean allows(CompiledTeamRules rules, int teamIndex, CompiledTeamRules.Candidate candidate) {
+        int i = candidate.getIndex();
+        if (i < 0) return true;
+        int group = root[i];
+        if (!fits(rules, teamIndex, group)) return false;
+        if (teamOfGroup[group] >= 0 || groupSize[group] == 1) return true;
+
+        // The whole group has to stay within the personality and game caps
+        for (int k = personalityStart[group]; k < personalityStart[group + 1]; k++) {
+            if (personalityCounts[k] > rules.personalityRoom(teamIndex, personalities[k])) return false;
+        }
+        for (int k = gameStart[group]; k < gameStart[group + 1]; k++) {
+            if (gameCounts[k] > rules.gameRoom(teamIndex, games[k])) return false;
+        }
+        return true;
+    }
+
+    //Like allows but ignoring caps: room for the whole group and no avoided group in the team.
+    //Used when leftovers have to be forced in somewhere, so groups still stay together.
+    public boolean fits(CompiledTeamRules rules, int teamIndex, CompiledTeamRules.Candidate candidate) {
+        int i = candidate.getIndex();
+        return i < 0 || fits(rules, teamIndex, root[i]);
+    }
+
+    private boolean fits(CompiledTeamRules rules, int teamIndex, int group) {
+        // Part of the group is already placed, the rest has to follow it
+        if (teamOfGroup[group] >= 0) return teamOfGroup[group] == teamIndex;
+
+        if (rules.getTeamSize() - rules.size(teamIndex) < groupSize[group]) return false;
+        for (int k = avoidStart[group]; k < avoidStart[group + 1]; k++) {
+            if (teamOfGroup[avoids[k]] == teamIndex) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void onPlaced(int teamIndex, CompiledTeamRules.Candidate candidate) {
+        int i = candidate.getIndex();
+        if (i >= 0) teamOfGroup[root[i]] = teamIndex;
+    }
+
+    public boolean isGrouped(CompiledTeamRules.Candidate candidate) {
+        int i = candidate.getIndex();
+        return i >= 0 && groupSize[root[i]] > 1;
+    }
+
+    //Other members of the participant's must-together group
+    public List<Participant> groupMates(CompiledTeamRules.Candidate candidate) {
+        int i = candidate.getIndex();
+        if (i < 0 || groupSize[root[i]] == 1) return Collections.emptyList();
+
+        int group = root[i];
+        List<Participant> mates = new ArrayList<>();
+        for (int k = memberStart[group]; k < memberStart[group + 1]; k++) {
+            if (members[k] != i) mates.add(participants.get(members[k]));
+        }
+        return mates;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]]; // path halving
+            i = parent[i];
+        }
+        return i;
+    }
+
+    //Lays out per-group tallies as start offsets plus flat key and count arrays
+    private static void flatten(List<Map<Integer, Integer>> tallies, int[] start, int[] keys, int[] counts) {
+        int next = 0;
+        for (int g = 0; g < tallies.size(); g++) {
+            start[g] = next;
+            for (Map.Entry<Integer, Integer> entry : tallies.get(g).entrySet()) {
+                keys[next] = entry.getKey();
+                counts[next++] = entry.getValue();
+            }
+        }
+        start[tallies.size()] = next;
+    }
+
+    private static int[] offsets(int[] counts) {
+        int[] start = new int[counts.length + 1];
+        for (int i = 0; i < counts.length; i++) {
+            start[i + 1] = start[i] + counts[i];
+        }
+        return start;
+    }
+}
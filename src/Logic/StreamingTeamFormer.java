@@ -0,0 +1,213 @@
+package Logic;
+
+import filehandling.CSVFileHandler;
+import model.Participant;
+import model.Team;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//Forms teams for rosters too large to hold in memory.
+//Pass 1 streams the participants file into one spill file per (personality type, game) bucket;
+//past MAX_BUCKETS, new combinations share one overflow bucket so open files stay bounded.
+//Pass 2 draws a batch of teamsPerBatch full teams from the buckets in proportion to their sizes,
+//so each batch has the same mix as the whole roster, forms that batch with TeamBuilder and
+//appends the teams to the output before reading the next batch.
+//Usage: java Logic.StreamingTeamFormer [participantsFile] [teamSize] [teamsFile] [teamsPerBatch]
+public class StreamingTeamFormer {
+    private static final int MAX_BUCKETS = 64;
+    private static final String OVERFLOW_KEY = "*";
+
+    private CSVFileHandler fileHandler = new CSVFileHandler();
+    private int teamSize;
+    private int teamsPerBatch;
+    private TeamRules rules;
+
+    public StreamingTeamFormer(int teamSize, int teamsPerBatch) {
+        this(teamSize, teamsPerBatch, TeamRules.defaults());
+    }
+
+    public StreamingTeamFormer(int teamSize, int teamsPerBatch, TeamRules rules) {
+        this.teamSize = teamSize;
+        this.teamsPerBatch = teamsPerBatch;
+        this.rules = rules;
+    }
+
+    //Returns the number of teams written
+    public int form(String inputPath, String outputPath) throws Exception {
+        Path spillDir = Files.createTempDirectory("teammate-spill");
+        Map<String, Bucket> buckets = new LinkedHashMap<>();
+
+        try {
+            long total = spill(inputPath, spillDir, buckets);
+            System.out.println("Bucketed " + total + " participants into " + buckets.size() + " spill files");
+            return formFromBuckets(buckets, total, outputPath);
+        } finally {
+            for (Bucket bucket : buckets.values()) {
+                bucket.close();
+                bucket.file.delete();
+            }
+            Files.deleteIfExists(spillDir);
+        }
+    }
+
+    private long spill(String inputPath, Path spillDir, Map<String, Bucket> buckets) throws IOException {
+        long total = 0;
+        String line;
+
+        try (BufferedReader br = new BufferedReader(new FileReader(inputPath))) {
+            br.readLine(); // Skip header
+
+            while ((line = br.readLine()) != null) {
+                Participant p;
+                try {
+                    p = fileHandler.parseParticipant(line);
+                } catch (Exception e) {
+                    System.out.println("Skipping invalid row: " + e.getMessage());
+                    continue;
+                }
+
+                String key = p.getPersonalityType() + "|" + p.getPreferredGame();
+                if (!buckets.containsKey(key) && buckets.size() >= MAX_BUCKETS - 1) {
+                    key = OVERFLOW_KEY; // last slot is kept for the overflow bucket
+                }
+                Bucket bucket = buckets.get(key);
+                if (bucket == null) {
+                    bucket = new Bucket(new File(spillDir.toFile(), "bucket_" + buckets.size() + ".csv"));
+                    buckets.put(key, bucket);
+                }
+                bucket.writer.write(fileHandler.formatParticipant(p));
+                bucket.writer.newLine();
+                bucket.remaining++;
+                total++;
+            }
+        }
+
+        for (Bucket bucket : buckets.values()) {
+            bucket.startReading();
+        }
+        return total;
+    }
+
+    private int formFromBuckets(Map<String, Bucket> buckets, long total, String outputPath) throws Exception {
+        long batchSize = (long) teamsPerBatch * teamSize;
+        long remaining = total;
+        int teamCount = 0;
+
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(outputPath))) {
+            bw.write(CSVFileHandler.TEAMS_HEADER);
+            bw.newLine();
+
+            while (remaining > 0) {
+                long take = Math.min(batchSize, remaining);
+                List<Participant> batch = drawBatch(buckets, take, remaining);
+                remaining -= batch.size();
+
+                TeamBuilder builder = new TeamBuilder(batch, teamSize, rules);
+                builder.setVerbose(false);
+                for (Team team : builder.call()) {
+                    teamCount++;
+                    String teamName = "Team_" + teamCount; // numbered across batches
+                    for (Participant p : team.getMembers()) {
+                        bw.write(fileHandler.formatTeamRow(teamName, p));
+                        bw.newLine();
+                    }
+                }
+                bw.flush();
+            }
+        }
+
+        System.out.println("Teams saved successfully to " + outputPath);
+        return teamCount;
+    }
+
+    //Reads take participants, split across buckets in proportion to what each still holds
+    private List<Participant> drawBatch(Map<String, Bucket> buckets, long take, long remaining) throws Exception {
+        List<Bucket> list = new ArrayList<>(buckets.values());
+        long[] quota = new long[list.size()];
+        long assigned = 0;
+        for (int i = 0; i < list.size(); i++) {
+            quota[i] = list.get(i).remaining * take / remaining;
+            assigned += quota[i];
+        }
+        // Hand out what rounding left over, one per bucket that still has rows
+        for (int i = 0; assigned < take; i = (i + 1) % list.size()) {
+            if (list.get(i).remaining > quota[i]) {
+                quota[i]++;
+                assigned++;
+            }
+        }
+
+        List<Participant> batch = new ArrayList<>((int) take);
+        for (int i = 0; i < list.size(); i++) {
+            Bucket bucket = list.get(i);
+            for (long k = 0; k < quota[i]; k++) {
+                batch.add(fileHandler.parseParticipant(bucket.reader.readLine()));
+            }
+            bucket.remaining -= quota[i];
+        }
+        // Rows come out bucket by bucket; mixed up so leftovers of one game don't land together
+        Collections.shuffle(batch);
+        return batch;
+    }
+
+    public static void main(String[] args) {
+        String inputPath = args.length > 0 ? args[0] : "datafiles/participants_sample.csv";
+        String outputPath = args.length > 2 ? args[2] : "datafiles/formed_teams.csv";
+        int teamSize;
+        int teamsPerBatch;
+        try {
+            teamSize = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+            teamsPerBatch = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        } catch (NumberFormatException e) {
+            teamSize = -1;
+            teamsPerBatch = -1;
+        }
+        if (teamSize < 1 || teamsPerBatch < 1) {
+            System.out.println("Usage: java Logic.StreamingTeamFormer [participantsFile] [teamSize] [teamsFile] [teamsPerBatch]");
+            System.exit(1);
+        }
+
+        try {
+            int teams = new StreamingTeamFormer(teamSize, teamsPerBatch).form(inputPath, outputPath);
+            System.out.println(" Successfully formed " + teams + " teams!");
+        } catch (Exception e) {
+            System.out.println(" Error forming teams: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static class Bucket {
+        private File file;
+        private BufferedWriter writer;
+        private BufferedReader reader;
+        private long remaining;
+
+        private Bucket(File file) throws IOException {
+            this.file = file;
+            this.writer = new BufferedWriter(new FileWriter(file));
+        }
+
+        private void startReading() throws IOException {
+            writer.close();
+            writer = null;
+            reader = new BufferedReader(new FileReader(file));
+        }
+
+        private void close() throws IOException {
+            if (writer != null) writer.close();
+            if (reader != null) reader.close();
+        }
+    }
+}
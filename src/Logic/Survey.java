@@ -2,55 +2,77 @@ package Logic;
 
 import filehandling.CSVFileHandler;
 import model.Participant;
+import model.Roster;
+
+import java.io.PrintStream;
 import java.util.*;
+import java.util.regex.Pattern;
 
 public class Survey {
     private Scanner scanner;
+    private PrintStream out;
     private CSVFileHandler fileHandler;
-    private List<Participant> participants;
-    private int lastIdNumber; //track last ID to generate new ID
+    private Roster roster;
     private static final String PARTICIPANTS_FILE="datafiles/participants_sample.csv";
 
+    //Compiled once and shared by every session
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z ]+");
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+    private static final List<String> VALID_GAMES = List.of(
+            "Chess", "FIFA", "Basketball", "CS:GO", "DOTA 2", "Valorant"
+    );
+    private static final List<String> VALID_ROLES = List.of(
+            "Strategist", "Attacker", "Defender", "Supporter", "Coordinator"
+    );
+
 
 
-    //Constructor
+    //Constructor for the console survey
     public Survey() {
         this.scanner = new Scanner(System.in);
+        this.out = System.out;
+        this.fileHandler = new CSVFileHandler();
+        this.roster = new Roster(fileHandler.loadParticipants(PARTICIPANTS_FILE));
+    }
+
+    //Constructor for a session reading from any source (socket, script, ...) into a shared roster
+    public Survey(Scanner scanner, PrintStream out, Roster roster) {
+        this.scanner = scanner;
+        this.out = out;
         this.fileHandler = new CSVFileHandler();
-        this.participants = fileHandler.loadParticipants(PARTICIPANTS_FILE);
-        this.lastIdNumber = getLastIdNumber();
+        this.roster = roster;
     }
 
     public void runMultipleSurveys() {
-        System.out.println("\n   NEW MEMBER REGISTRATION SURVEY   ");
+        out.println("\n   NEW MEMBER REGISTRATION SURVEY   ");
 
-        System.out.print("How many participants do you want to add? ");
+        out.print("How many participants do you want to add? ");
         int count = getValidInt(1, 50);
 
         for (int i = 0; i < count; i++) {
-            System.out.println("\n--- Participant " + (i + 1) + " ---");
+            out.println("\n--- Participant " + (i + 1) + " ---");
             runSurvey(); //
         }
 
-        fileHandler.saveParticipants(participants, PARTICIPANTS_FILE);
-        System.out.println("\n Successfully added \" + count + \" participant(s) and saved data to: \" + PARTICIPANTS_FILE");
+        fileHandler.saveParticipants(roster.snapshot(), PARTICIPANTS_FILE);
+        out.println("\n Successfully added \" + count + \" participant(s) and saved data to: \" + PARTICIPANTS_FILE");
     }
 
 
 
 
-    //Method that runs survey and returns a participant
+    //Method that runs survey and returns a participant, or null if it could not be registered
     public Participant runSurvey() {
 
-        System.out.print("Enter Name: ");
+        out.print("Enter Name: ");
         String name = getValidName();
 
-        System.out.print("Enter Email: ");
+        out.print("Enter Email: ");
         String email = getValidEmail();
 
 
     // Personality Questions
-    System.out.println("\nRate the following statements from 1 (Strongly Disagree) to 5 (Strongly Agree):");
+    out.println("\nRate the following statements from 1 (Strongly Disagree) to 5 (Strongly Agree):");
 
         int q1 = askQuestion("1. I enjoy taking the lead and guiding others.");
         int q2 = askQuestion("2. I prefer analyzing situations.");
@@ -70,27 +92,30 @@ public class Survey {
 
         }
 
-        System.out.println("\n Your Score: " + finalScore + "\nYour Personality type: " + type );
+        out.println("\n Your Score: " + finalScore + "\nYour Personality type: " + type );
 
         String game = getValidGame();
 
         String role = getValidRole();
 
-        System.out.print("Enter Skill Level (1-10): ");
+        out.print("Enter Skill Level (1-10): ");
         int skill = getValidInt(1, 10);
 
-        String id = generateId();
+        String id = roster.nextId();
 
         Participant newParticipant = new Participant(id, name, email, game, skill, role, finalScore, type);
 
-        participants.add(newParticipant);
-
+        // Another session may have registered the same email in the meantime
+        if (!roster.add(newParticipant)) {
+            out.println("Email already registered, participant not added.");
+            return null;
+        }
 
         return newParticipant;
     }
 
     private int askQuestion(String question) {
-        System.out.println(question);
+        out.println(question);
         return getValidInt(1, 5);
     }
 
@@ -104,40 +129,22 @@ public class Survey {
                 if (input >= min && input <= max) {
                     break;
                 }
-                System.out.println("Invalid input. Try again.");
+                out.println("Invalid input. Try again.");
             } catch (NumberFormatException e) {
-                System.out.println("Please enter a valid number.");
+                out.println("Please enter a valid number.");
             }
         }
         return input;
     }
 
-    //ID generation Logic
-    private int getLastIdNumber() {
-        int lastNumber = 0;
-        for (Participant p : participants) {
-            try {
-                int num = Integer.parseInt(p.getId().substring(1)); // remove 'P'
-                if (num > lastNumber) lastNumber = num;
-            } catch (NumberFormatException e) {
-                System.out.println("Skipping invalid ID: " + p.getId());
-            }
-        }
-        return lastNumber;
-    }
-
-    private String generateId() {
-        lastIdNumber++;
-        return String.format("P%03d", lastIdNumber);
-    }
     private String getValidName() {
         String name;
         while (true) {
             name = scanner.nextLine().trim();
-            if (!name.isEmpty() && name.matches("[A-Za-z ]+")) {
+            if (!name.isEmpty() && NAME_PATTERN.matcher(name).matches()) {
                 return name;
             }
-            System.out.print("Invalid name. Enter again: ");
+            out.print("Invalid name. Enter again: ");
         }
     }
 
@@ -145,48 +152,43 @@ public class Survey {
         String email;
         while (true) {
             email = scanner.nextLine().trim();
-            if (email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
+            if (!EMAIL_PATTERN.matcher(email).matches()) {
+                out.print("Invalid email. Enter again: ");
+            } else if (roster.isEmailTaken(email)) {
+                out.print("Email already registered. Enter another: ");
+            } else {
                 return email;
             }
-            System.out.print("Invalid email. Enter again: ");
         }
     }
 
     private String getValidGame() {
-        List<String> validGames = Arrays.asList(
-                "Chess", "FIFA", "Basketball", "CS:GO", "DOTA 2", "Valorant"
-        );
-
         while (true) {
-            System.out.print("Enter Preferred Game " + validGames + ": ");
+            out.print("Enter Preferred Game " + VALID_GAMES + ": ");
             String input = scanner.nextLine().trim();
 
             // Case-insensitive check
-            for (String g : validGames) {
+            for (String g : VALID_GAMES) {
                 if (g.equalsIgnoreCase(input)) {
                     return g;  // return correct formatted version
                 }
             }
 
-            System.out.println("Invalid game. Please choose from: " + validGames);
+            out.println("Invalid game. Please choose from: " + VALID_GAMES);
         }
     }
     private String getValidRole() {
-        List<String> validRoles = Arrays.asList(
-                "Strategist", "Attacker", "Defender", "Supporter", "Coordinator"
-        );
-
         while (true) {
-            System.out.print("Enter Preferred Role " + validRoles + ": ");
+            out.print("Enter Preferred Role " + VALID_ROLES + ": ");
             String input = scanner.nextLine().trim();
 
-            for (String r : validRoles) {
+            for (String r : VALID_ROLES) {
                 if (r.equalsIgnoreCase(input)) {
                     return r;
                 }
             }
 
-            System.out.println("Invalid role. Please choose from: " + validRoles);
+            out.println("Invalid role. Please choose from: " + VALID_ROLES);
         }
     }
 
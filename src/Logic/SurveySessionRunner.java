@@ -0,0 +1,87 @@
+package Logic;
+
+import model.Participant;
+import model.Roster;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//Runs many survey sessions at once, one virtual thread per session, all writing into one shared roster
+public class SurveySessionRunner {
+    private Roster roster;
+
+    public SurveySessionRunner(Roster roster) {
+        this.roster = roster;
+    }
+
+    //Starts a single session (e.g. for a socket connection with its own output) and returns straight away.
+    //The future holds null if the participant could not be registered (email taken meanwhile).
+    public Future<Participant> startSession(ExecutorService executor, InputStream in, PrintStream out) {
+        return executor.submit(() -> {
+            Survey survey = new Survey(new Scanner(in), out, roster);
+            return survey.runSurvey();
+        });
+    }
+
+    //Runs one session per input and waits for all of them. All sessions share one PrintStream over out,
+    //so writes go through a single lock; lines from different sessions may still interleave.
+    public SessionResults runSessions(List<? extends InputStream> inputs, OutputStream out) throws InterruptedException {
+        PrintStream shared = out instanceof PrintStream ? (PrintStream) out : new PrintStream(out, true);
+        List<Future<Participant>> futures = new ArrayList<>();
+        SessionResults results = new SessionResults();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (InputStream in : inputs) {
+                futures.add(startSession(executor, in, shared));
+            }
+
+            for (Future<Participant> future : futures) {
+                try {
+                    Participant p = future.get();
+                    if (p != null) {
+                        results.completed.add(p);
+                    } else {
+                        results.rejected++;
+                    }
+                } catch (ExecutionException e) {
+                    // Input ended before the survey was finished
+                    results.failures.add(e.getCause());
+                }
+            }
+        }
+        return results;
+    }
+
+    public Roster getRoster() {
+        return roster;
+    }
+
+    //Outcome of a runSessions call
+    public static class SessionResults {
+        private List<Participant> completed = new ArrayList<>();
+        private List<Throwable> failures = new ArrayList<>();
+        private int rejected;
+
+        public List<Participant> getCompleted() {
+            return completed;
+        }
+
+        //Sessions that ended with an exception, e.g. input closed mid-survey
+        public List<Throwable> getFailures() {
+            return failures;
+        }
+
+        //Sessions that finished but whose email was registered by another session first
+        public int getRejected() {
+            return rejected;
+        }
+    }
+}
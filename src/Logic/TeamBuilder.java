@@ -1,21 +1,37 @@
 package Logic;
 
 import model.Participant;
+import model.ParticipantRelations;
 import model.Team;
 
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.function.Function;
 
 //callable interface allows running team building inside a thread
 public class TeamBuilder implements Callable<List<Team>> {
     private List<Participant> participants;
     private List<Team> formedTeams;
     private int teamSize;
+    private TeamRules rules;
+    private CompiledTeamRules compiled;
+    private boolean verbose = true; //print progress and every placement
+    private PlacementMode placementMode = PlacementMode.ROUND_ROBIN;
+    private int snakePosition; //carried from the Leader draft into the Thinker draft
+    private ParticipantRelations relations;
+    private RelationConstraint relationConstraint;
+    private Set<Participant> placedParticipants = new HashSet<>();
+    private List<Map<String, List<String>>> splitGroups = new ArrayList<>();
     private Random random = new Random();
 
     public TeamBuilder(List<Participant> participants, int teamSize) {
+        this(participants, teamSize, TeamRules.defaults());
+    }
+
+    public TeamBuilder(List<Participant> participants, int teamSize, TeamRules rules) {
         this.participants = new ArrayList<>(participants);
         this.teamSize = teamSize;
+        this.rules = rules;
         this.formedTeams = new ArrayList<>();//initialising
     }
 
@@ -23,11 +39,37 @@ public class TeamBuilder implements Callable<List<Team>> {
         return formedTeams;
     }
 
+    public void setPlacementMode(PlacementMode placementMode) {
+        this.placementMode = placementMode;
+    }
+
+    //Must-together groups and avoid pairs to respect while placing
+    public void setRelations(ParticipantRelations relations) {
+        this.relations = relations;
+    }
+
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    //Must-together groups that could not be kept in one team, each as team name -> member IDs
+    public List<Map<String, List<String>>> getSplitGroups() {
+        return splitGroups;
+    }
+
+    protected boolean isVerbose() {
+        return verbose;
+    }
+
+    protected CompiledTeamRules getCompiledRules() {
+        return compiled;
+    }
+
     @Override
     public List<Team> call() throws Exception {
-        System.out.println("[Thread-" + Thread.currentThread().getId() + "] Starting team formation");
+        if (verbose) System.out.println("[Thread-" + Thread.currentThread().getId() + "] Starting team formation");
         formBalancedTeams();
-        System.out.println("[Thread-" + Thread.currentThread().getId() + "] Team formation completed. Formed " + formedTeams.size() + " teams.");
+        if (verbose) System.out.println("[Thread-" + Thread.currentThread().getId() + "] Team formation completed. Formed " + formedTeams.size() + " teams.");
         return formedTeams;
     }
 
@@ -45,7 +87,7 @@ public class TeamBuilder implements Callable<List<Team>> {
             }
         }
 
-        System.out.printf("Personality distribution: %d Leaders, %d Thinkers, %d Balanced%n",
+        if (verbose) System.out.printf("Personality distribution: %d Leaders, %d Thinkers, %d Balanced%n",
                 leaders.size(), thinkers.size(), balanced.size());
 
         // Shuffle for randomness
@@ -61,44 +103,76 @@ public class TeamBuilder implements Callable<List<Team>> {
         for (int i = 1; i <= numTeams; i++) {
             teams.add(new Team("Team_" + i));
         }
+        // Relations are built from the compiled rules so they can share its participant indexes
+        List<Function<CompiledTeamRules, TeamConstraint>> extraConstraints = new ArrayList<>();
+        relationConstraint = null;
+        if (relations != null && !relations.isEmpty()) {
+            extraConstraints.add(compiledRules -> {
+                relationConstraint = new RelationConstraint(relations, compiledRules);
+                return relationConstraint;
+            });
+        }
+        compiled = rules.compile(participants, numTeams, teamSize, extraConstraints);
+        snakePosition = 0;
+        placedParticipants.clear();
+        splitGroups.clear();
+
+        // Groups need room for all their members under the caps, so they pick before everyone else
+        leaders = groupsFirst(leaders);
+        thinkers = groupsFirst(thinkers);
 
-        // Phase 1: Distribute Leaders (1 per team)
-        distributeByPersonality(teams, leaders, "Leader", 1);
+        // Phase 1: Distribute Leaders (1 per team by default)
+        distributeByPersonality(teams, leaders, "Leader");
+        placeDeferredGroups(teams, leaders);
 
-        // Phase 2: Distribute Thinkers (1-2 per team)
-        distributeByPersonality(teams, thinkers, "Thinker", 2);
+        // Phase 2: Distribute Thinkers (1-2 per team by default)
+        distributeByPersonality(teams, thinkers, "Thinker");
+        placeDeferredGroups(teams, thinkers);
 
         // Phase 3: Fill with Balanced participants considering game/role/average skill balance
         fillWithConstraints(teams, balanced);
 
         // Phase 4: Handle any remaining participants
         handleRemainingParticipants(teams);
+        reportSplitGroups(teams);
 
         this.formedTeams = teams;
     }
 
-    private void distributeByPersonality(List<Team> teams, List<Participant> participants, String type, int maxPerTeam) {
+    private void distributeByPersonality(List<Team> teams, List<Participant> participants, String type) {
         if (participants.isEmpty()) {
-            System.out.println("No " + type + " participants available");
+            if (verbose) System.out.println("No " + type + " participants available");
             return;
         }
 
+        if (placementMode == PlacementMode.SNAKE_DRAFT) {
+            snakeDraft(teams, participants, type);
+            return;
+        }
+
+        int personality = compiled.resolve(participants.get(0)).getPersonalityIndex();
+        boolean[] open = openTeams(personality);
+        int openCount = count(open);
+
         int teamIndex = 0;
         for (Participant p : new ArrayList<>(participants)) {
-            boolean placed = false;
+            if (openCount == 0) break; // every team is at the cap, the rest are left for later phases
+            boolean placed = isPlaced(p); // already in with their group
+            CompiledTeamRules.Candidate candidate = compiled.resolve(p);
 
-            
             for (int attempt = 0; attempt < teams.size() * 2 && !placed; attempt++) {
                 Team team = teams.get(teamIndex);
 
-                if (team.getTeamSize() < teamSize &&
-                        countPersonalityInTeam(team, type) < maxPerTeam &&
-                        countGameInTeam(team, p.getPreferredGame()) < 2) {
+                if (compiled.canPlace(teamIndex, candidate)) {
 
-                    team.addMember(p);
+                    place(teams, teamIndex, p);
                     participants.remove(p);
                     placed = true;
-                    System.out.println("Placed " + type + " " + p.getName() + " in " + team.getTeamName());
+                    if (open[teamIndex] && !isOpen(teamIndex, personality)) {
+                        open[teamIndex] = false;
+                        openCount--;
+                    }
+                    if (verbose) System.out.println("Placed " + type + " " + p.getName() + " in " + team.getTeamName());
                 }
 
                 teamIndex = (teamIndex + 1) % teams.size();
@@ -106,92 +180,277 @@ public class TeamBuilder implements Callable<List<Team>> {
         }
     }
 
-    private void fillWithConstraints(List<Team> teams, List<Participant> balancedParticipants) {
+    //Strongest first, serpentine team order, so team skill sums stay level from the start
+    private void snakeDraft(List<Team> teams, List<Participant> participants, String type) {
+        List<Participant> unplaced = new ArrayList<>();
+        int numTeams = teams.size();
+        int personality = compiled.resolve(participants.get(0)).getPersonalityIndex();
+        boolean[] open = openTeams(personality);
+        int openCount = count(open);
+
+        for (Participant p : groupsFirst(sortBySkillDescending(participants))) {
+            if (isPlaced(p)) continue; // already in with their group
+            if (openCount == 0) {
+                unplaced.add(p); // every team is at the cap, no need to try them all
+                continue;
+            }
+            CompiledTeamRules.Candidate candidate = compiled.resolve(p);
+            boolean placed = false;
+
+            // Try the team whose turn it is, then the following picks in draft order
+            for (int attempt = 0; attempt < numTeams * 2 && !placed; attempt++) {
+                int teamIndex = snakeTeam(snakePosition + attempt, numTeams);
+
+                if (compiled.canPlace(teamIndex, candidate)) {
+                    place(teams, teamIndex, p);
+                    placed = true;
+                    if (open[teamIndex] && !isOpen(teamIndex, personality)) {
+                        open[teamIndex] = false;
+                        openCount--;
+                    }
+                    if (verbose) System.out.println("Placed " + type + " " + p.getName() + " in " + teams.get(teamIndex).getTeamName());
+                }
+            }
+
+            if (placed) {
+                snakePosition++;
+            } else {
+                unplaced.add(p);
+            }
+        }
+
+        participants.clear();
+        participants.addAll(unplaced);
+    }
+
+    //Teams that can still take someone of the personality: not full and under its cap.
+    //Only the team a participant (and their group) went to can change, so callers update one entry.
+    private boolean[] openTeams(int personality) {
+        boolean[] open = new boolean[compiled.getNumTeams()];
+        for (int i = 0; i < open.length; i++) {
+            open[i] = isOpen(i, personality);
+        }
+        return open;
+    }
+
+    private boolean isOpen(int team, int personality) {
+        return compiled.size(team) < teamSize && compiled.personalityRoom(team, personality) > 0;
+    }
+
+    private static int count(boolean[] flags) {
+        int count = 0;
+        for (boolean flag : flags) {
+            if (flag) count++;
+        }
+        return count;
+    }
+
+    //Team for the given pick number: 0..n-1 on even rounds, n-1..0 on odd rounds
+    private static int snakeTeam(int pick, int numTeams) {
+        int round = pick / numTeams;
+        int offset = pick % numTeams;
+        return round % 2 == 0 ? offset : numTeams - 1 - offset;
+    }
+
+    //Counting sort on skill level (1-10), highest first; keeps the shuffled order within a level
+    private static List<Participant> sortBySkillDescending(List<Participant> participants) {
+        int[] start = new int[12];
+        for (Participant p : participants) {
+            start[11 - clampSkill(p.getSkillLevel())]++;
+        }
+        for (int i = 1; i < start.length; i++) {
+            start[i] += start[i - 1];
+        }
+
+        Participant[] sorted = new Participant[participants.size()];
+        for (Participant p : participants) {
+            sorted[start[10 - clampSkill(p.getSkillLevel())]++] = p;
+        }
+        return Arrays.asList(sorted);
+    }
+
+    private static int clampSkill(int skill) {
+        return Math.max(1, Math.min(10, skill));
+    }
+
+    protected void fillWithConstraints(List<Team> teams, List<Participant> balancedParticipants) {
         if (balancedParticipants.isEmpty()) return;
 
         Collections.shuffle(balancedParticipants);
+        if (relationConstraint != null) {
+            List<Participant> ordered = groupsFirst(balancedParticipants);
+            balancedParticipants.clear();
+            balancedParticipants.addAll(ordered);
+        }
 
+        boolean groupsDone = false;
         for (Participant p : new ArrayList<>(balancedParticipants)) {
-            Team bestTeam = findOptimalTeam(teams, p);
-            if (bestTeam != null) {
-                bestTeam.addMember(p);
+            if (!groupsDone && !isGrouped(p)) {
+                // Groups the caps turned away go in before ungrouped participants take their room
+                placeDeferredGroups(teams, balancedParticipants);
+                groupsDone = true;
+            }
+            if (isPlaced(p)) {
+                balancedParticipants.remove(p);
+                continue;
+            }
+            int bestTeam = findOptimalTeam(p);
+            if (bestTeam >= 0) {
+                place(teams, bestTeam, p);
                 balancedParticipants.remove(p);
-                System.out.println("Placed Balanced " + p.getName() + " in " + bestTeam.getTeamName());
+                if (verbose) System.out.println("Placed Balanced " + p.getName() + " in " + teams.get(bestTeam).getTeamName());
+            }
+        }
+        if (!groupsDone) placeDeferredGroups(teams, balancedParticipants);
+    }
+
+    //Grouped participants no team could take under the caps: the group goes to a team with room
+    //for all of it and no avoided group, preferring one within the game cap, then the emptiest.
+    //Done before ungrouped participants fill the teams, or the group would have to be split later.
+    //A group too big for any team goes to the emptiest ones, so it is split as little as possible.
+    private void placeDeferredGroups(List<Team> teams, List<Participant> list) {
+        if (relationConstraint == null) return;
+
+        for (Participant p : new ArrayList<>(list)) {
+            if (isPlaced(p) || !isGrouped(p)) continue;
+            CompiledTeamRules.Candidate candidate = compiled.resolve(p);
+
+            int target = -1;
+            int emptiest = -1;
+            for (int i = 0; i < teams.size(); i++) {
+                if (emptiest < 0 || compiled.size(i) < compiled.size(emptiest)) emptiest = i;
+                if (compiled.size(i) >= teamSize || !relationConstraint.fits(compiled, i, candidate)) continue;
+                if (compiled.canFill(i, candidate)) {
+                    target = i;
+                    break;
+                }
+                if (target < 0 || compiled.size(i) < compiled.size(target)) target = i;
+            }
+            if (target < 0 && emptiest >= 0 && compiled.size(emptiest) < teamSize) target = emptiest;
+
+            if (target >= 0) {
+                place(teams, target, p);
+                list.remove(p);
+                if (verbose) System.out.println("Placed group of " + p.getName() + " over the caps in " + teams.get(target).getTeamName());
             }
         }
     }
 
-    private Team findOptimalTeam(List<Team> teams, Participant p) {
-        Team bestTeam = null;
+    //Returns the index of the best scoring team, or -1 if no team can take the participant
+    private int findOptimalTeam(Participant p) {
+        int bestTeam = -1;
         int bestScore = -1;
+        CompiledTeamRules.Candidate candidate = compiled.resolve(p);
 
-        for (Team team : teams) {
-            if (team.getTeamSize() >= teamSize) continue;
-            //Skip teams that already has 2 or more members who prefer same game
-            if (countGameInTeam(team, p.getPreferredGame()) >= 2) continue;
+        for (int i = 0; i < compiled.getNumTeams(); i++) {
+            //Skip full teams and teams that already hit the game cap
+            if (!compiled.canFill(i, candidate)) continue;
 
-            int score = calculateTeamScore(team, p);
+            int score = compiled.score(i, candidate);
             if (score > bestScore) {
                 bestScore = score;
-                bestTeam = team;
+                bestTeam = i;
             }
         }
 
         return bestTeam;
     }
 
-    private int calculateTeamScore(Team team, Participant p) {
-        int score = 0;
-
-        // Prefer teams with lower average skill (for balancing)
-        if (team.getAverageSkill() < 5) score += 3;
-
-        // Prefer teams that need this role
-        if (!hasRole(team, p.getPreferredRole())) score += 5;
+    private void handleRemainingParticipants(List<Team> teams) {
+        // Place unassigned participants in any available team, keeping groups and avoid pairs where possible
+        for (Participant p : participants) {
+            if (isPlaced(p)) continue;
+            CompiledTeamRules.Candidate candidate = compiled.resolve(p);
+
+            // First choice a team the relations allow, then one the group fits in over the caps,
+            // then any team with room
+            int target = -1;
+            int fitting = -1;
+            int any = -1;
+            for (int i = 0; i < teams.size(); i++) {
+                if (compiled.size(i) >= teamSize) continue;
+                if (relationConstraint == null || relationConstraint.allows(compiled, i, candidate)) {
+                    target = i;
+                    break;
+                }
+                if (fitting < 0 && relationConstraint.fits(compiled, i, candidate)) fitting = i;
+                if (any < 0) any = i;
+            }
+            if (target < 0) target = fitting >= 0 ? fitting : any;
 
-        // Prefer teams with fewer members
-        if (team.getTeamSize() < teamSize - 2) score += 2;
+            if (target >= 0) {
+                place(teams, target, p);
+                if (verbose) System.out.println("Force-placed " + p.getName() + " in " + teams.get(target).getTeamName());
+            }
+        }
+    }
 
-        return score;
+    //Adds the participant to the team and keeps the compiled counters in step.
+    //Must-together group mates come along; the relation constraint has already checked the whole
+    //group for room, caps and avoid pairs, except when leftovers are forced in.
+    protected void place(List<Team> teams, int teamIndex, Participant p) {
+        CompiledTeamRules.Candidate candidate = compiled.resolve(p);
+        teams.get(teamIndex).addMember(p);
+        compiled.place(teamIndex, candidate);
+        placedParticipants.add(p);
+
+        if (relationConstraint == null) return;
+        for (Participant mate : relationConstraint.groupMates(candidate)) {
+            if (isPlaced(mate) || compiled.size(teamIndex) >= teamSize) continue;
+            teams.get(teamIndex).addMember(mate);
+            compiled.place(teamIndex, compiled.resolve(mate));
+            placedParticipants.add(mate);
+            if (verbose) System.out.println("Placed " + mate.getName() + " with group in " + teams.get(teamIndex).getTeamName());
+        }
     }
 
-    private void handleRemainingParticipants(List<Team> teams) {
-        // Find all assigned participants
-        Set<Participant> assigned = new HashSet<>();
+    //Records and warns about every must-together group that ended up in more than one team
+    private void reportSplitGroups(List<Team> teams) {
+        if (relationConstraint == null) return;
+
+        Map<Participant, String> teamOf = new IdentityHashMap<>();
         for (Team team : teams) {
-            assigned.addAll(team.getMembers());
+            for (Participant member : team.getMembers()) {
+                teamOf.put(member, team.getTeamName());
+            }
         }
 
-        // Find unassigned participants
-        List<Participant> unassigned = new ArrayList<>(participants);
-        unassigned.removeAll(assigned);
-
-        // Place unassigned participants in any available team
-        for (Participant p : unassigned) {
-            for (Team team : teams) {
-                if (team.getTeamSize() < teamSize) {
-                    team.addMember(p);
-                    System.out.println("Force-placed " + p.getName() + " in " + team.getTeamName());
-                    break;
-                }
+        Set<Participant> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Participant p : participants) {
+            if (!isGrouped(p) || !seen.add(p)) continue;
+            List<Participant> mates = relationConstraint.groupMates(compiled.resolve(p));
+            seen.addAll(mates);
+
+            Map<String, List<String>> byTeam = new LinkedHashMap<>();
+            byTeam.computeIfAbsent(teamOf.getOrDefault(p, "unplaced"), k -> new ArrayList<>()).add(p.getId());
+            for (Participant mate : mates) {
+                byTeam.computeIfAbsent(teamOf.getOrDefault(mate, "unplaced"), k -> new ArrayList<>()).add(mate.getId());
+            }
+            if (byTeam.size() > 1) {
+                splitGroups.add(byTeam);
+                System.out.println("Warning: could not keep group together: " + byTeam);
             }
         }
     }
 
-    private int countPersonalityInTeam(Team team, String personalityType) {
-        return (int) team.getMembers().stream()
-                .filter(p -> p.getPersonalityType().equals(personalityType))
-                .count();
+    //Participants with must-together group mates first, otherwise keeping the order
+    private List<Participant> groupsFirst(List<Participant> list) {
+        if (relationConstraint == null) return list;
+        List<Participant> ordered = new ArrayList<>(list.size());
+        for (Participant p : list) {
+            if (isGrouped(p)) ordered.add(p);
+        }
+        for (Participant p : list) {
+            if (!isGrouped(p)) ordered.add(p);
+        }
+        return ordered;
     }
 
-    private int countGameInTeam(Team team, String game) {
-        return (int) team.getMembers().stream()
-                .filter(p -> p.getPreferredGame().equals(game))
-                .count();
+    protected boolean isGrouped(Participant p) {
+        return relationConstraint != null && relationConstraint.isGrouped(compiled.resolve(p));
     }
 
-    private boolean hasRole(Team team, String role) {
-        return team.getMembers().stream()
-                .anyMatch(p -> p.getPreferredRole().equals(role));
+    protected boolean isPlaced(Participant p) {
+        return placedParticipants.contains(p);
     }
 }
\ No newline at end of file
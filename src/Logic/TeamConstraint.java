@@ -0,0 +1,18 @@
+package Logic;
+
+//Custom placement rule. Implementations should read the counters kept by CompiledTeamRules
+//rather than walking team member lists, since this is checked for every candidate team.
+//The Candidate is resolved once per participant; its roster index can key per-participant arrays.
+public interface TeamConstraint {
+    boolean allows(CompiledTeamRules rules, int teamIndex, CompiledTeamRules.Candidate candidate);
+
+    //Asked once per participant when the rules are compiled; allows is never called for
+    //participants this returns false for
+    default boolean appliesTo(CompiledTeamRules.Candidate candidate) {
+        return true;
+    }
+
+    //Called after a participant has been placed, for constraints that keep their own state
+    default void onPlaced(int teamIndex, CompiledTeamRules.Candidate candidate) {
+    }
+}
@@ -0,0 +1,116 @@
+package Logic;
+
+import model.Participant;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+//Balance rules for one event: caps, scoring weights and custom constraints.
+//Declared once, then compiled into array based checks for the team builder.
+public class TeamRules {
+    private Map<String, Integer> personalityCaps = new LinkedHashMap<>();
+    private int gameCap = 2;
+    private double lowSkillThreshold = 5;
+    private int lowSkillWeight = 3;
+    private int missingRoleWeight = 5;
+    private int smallTeamWeight = 2;
+    private int smallTeamMargin = 2;
+    private List<Function<CompiledTeamRules, TeamConstraint>> constraintFactories = new ArrayList<>();
+
+    //Rules the builder has always used: 1 Leader, 2 Thinkers, 2 per game, weights 3/5/2
+    public static TeamRules defaults() {
+        return new TeamRules()
+                .personalityCap("Leader", 1)
+                .personalityCap("Thinker", 2);
+    }
+
+    public TeamRules personalityCap(String personalityType, int max) {
+        personalityCaps.put(personalityType, max);
+        return this;
+    }
+
+    public TeamRules gameCap(int max) {
+        this.gameCap = max;
+        return this;
+    }
+
+    //Bonus for teams whose average skill is below the threshold
+    public TeamRules lowSkillWeight(int weight, double threshold) {
+        this.lowSkillWeight = weight;
+        this.lowSkillThreshold = threshold;
+        return this;
+    }
+
+    //Bonus for teams that don't have the participant's preferred role yet
+    public TeamRules missingRoleWeight(int weight) {
+        this.missingRoleWeight = weight;
+        return this;
+    }
+
+    //Bonus for teams that are still more than margin members short of full
+    public TeamRules smallTeamWeight(int weight, int margin) {
+        this.smallTeamWeight = weight;
+        this.smallTeamMargin = margin;
+        return this;
+    }
+
+    //Adds a stateless constraint; the same instance is used by every compile of these rules
+    public TeamRules addConstraint(TeamConstraint constraint) {
+        constraintFactories.add(compiled -> constraint);
+        return this;
+    }
+
+    //Adds a constraint that keeps its own state (e.g. through onPlaced). The factory is called on every
+    //compile, so runs that share these rules (several events, repeated formations) never share that state.
+    public TeamRules addConstraintFactory(Function<CompiledTeamRules, TeamConstraint> factory) {
+        constraintFactories.add(factory);
+        return this;
+    }
+
+    public int getPersonalityCap(String personalityType) {
+        return personalityCaps.getOrDefault(personalityType, Integer.MAX_VALUE);
+    }
+
+    public int getGameCap() {
+        return gameCap;
+    }
+
+    public double getLowSkillThreshold() {
+        return lowSkillThreshold;
+    }
+
+    public int getLowSkillWeight() {
+        return lowSkillWeight;
+    }
+
+    public int getMissingRoleWeight() {
+        return missingRoleWeight;
+    }
+
+    public int getSmallTeamWeight() {
+        return smallTeamWeight;
+    }
+
+    public int getSmallTeamMargin() {
+        return smallTeamMargin;
+    }
+
+    public List<Function<CompiledTeamRules, TeamConstraint>> getConstraintFactories() {
+        return constraintFactories;
+    }
+
+    public CompiledTeamRules compile(List<Participant> participants, int numTeams, int teamSize) {
+        return compile(participants, numTeams, teamSize, new ArrayList<>());
+    }
+
+    //Compiles with extra constraints that only apply to this run (e.g. the roster's relations)
+    public CompiledTeamRules compile(List<Participant> participants, int numTeams, int teamSize,
+                                     List<Function<CompiledTeamRules, TeamConstraint>> extraFactories) {
+        List<Function<CompiledTeamRules, TeamConstraint>> all = new ArrayList<>(constraintFactories);
+        all.addAll(extraFactories);
+        return new CompiledTeamRules(this, participants, numTeams, teamSize, all);
+    }
+}
@@ -0,0 +1,167 @@
+package Logic;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//Checks a formed teams file against the balance rules, in parallel.
+//The file is read once; rows are grouped into teams and batches of teams are checked on a pool
+//while the next batch is read. Rows and offender lists stay bounded for large files; the one thing
+//that grows with the file is the set of team names seen, which the split check needs.
+//Usage as a batch gate: java Logic.TeamValidator [teamsFile]  (exit code 1 on any violation)
+public class TeamValidator {
+    public static final String LEADER_RULE = "Teams without exactly %d Leader(s)";
+    public static final String THINKER_RULE = "Teams with more than %d Thinkers";
+    public static final String GAME_RULE = "Teams with more than %d players of a game";
+    public static final String SPLIT_RULE = "Teams whose rows are not together";
+
+    private static final int TEAMS_PER_BATCH = 2000;
+    private static final int OFFENDERS_KEPT = 1000; // per rule, counts stay exact
+
+    private int requiredLeaders;
+    private int maxThinkers;
+    private int maxSameGame;
+    private int threads;
+
+    private String leaderRule;
+    private String thinkerRule;
+    private String gameRule;
+
+    //The Leader cap is checked as an exact count, the Thinker and game caps as maximums.
+    //A personality with no declared cap has no rule.
+    public TeamValidator(TeamRules rules, int threads) {
+        this.requiredLeaders = rules.getPersonalityCap("Leader");
+        this.maxThinkers = rules.getPersonalityCap("Thinker");
+        this.maxSameGame = rules.getGameCap();
+        this.threads = threads;
+
+        this.leaderRule = requiredLeaders != Integer.MAX_VALUE ? String.format(LEADER_RULE, requiredLeaders) : null;
+        this.thinkerRule = maxThinkers != Integer.MAX_VALUE ? String.format(THINKER_RULE, maxThinkers) : null;
+        this.gameRule = String.format(GAME_RULE, maxSameGame);
+    }
+
+    public ValidationReport validate(String teamsPath) throws Exception {
+        List<String> rules = new ArrayList<>();
+        if (leaderRule != null) rules.add(leaderRule);
+        if (thinkerRule != null) rules.add(thinkerRule);
+        rules.add(gameRule);
+        rules.add(SPLIT_RULE);
+        ValidationReport report = new ValidationReport(rules, OFFENDERS_KEPT);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> inFlight = new ArrayList<>();
+
+        try (BufferedReader br = new BufferedReader(new FileReader(teamsPath))) {
+            br.readLine(); // Skip header
+
+            Set<String> seenTeams = new HashSet<>();
+            List<TeamRows> batch = new ArrayList<>();
+            TeamRows current = null;
+            String line;
+
+            while ((line = br.readLine()) != null) {
+                String[] data = line.split(",");
+                if (data.length < 7) {
+                    report.addMalformedRow();
+                    continue;
+                }
+
+                String teamName = data[0].trim();
+                if (current == null || !current.teamName.equals(teamName)) {
+                    if (!seenTeams.add(teamName)) {
+                        report.addViolation(SPLIT_RULE, teamName);
+                    }
+                    current = new TeamRows(teamName);
+                    batch.add(current);
+
+                    if (batch.size() > TEAMS_PER_BATCH) {
+                        // Last team may still be growing, keep it for the next batch
+                        batch.remove(batch.size() - 1);
+                        inFlight.add(submit(pool, batch, report));
+                        batch = new ArrayList<>();
+                        batch.add(current);
+                        throttle(inFlight);
+                    }
+                }
+                current.personalities.add(data[4].trim());
+                current.games.add(data[5].trim());
+            }
+
+            if (!batch.isEmpty()) {
+                inFlight.add(submit(pool, batch, report));
+            }
+            for (Future<?> future : inFlight) {
+                future.get();
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+        return report;
+    }
+
+    private Future<?> submit(ExecutorService pool, List<TeamRows> batch, ValidationReport report) {
+        return pool.submit(() -> {
+            for (TeamRows team : batch) {
+                check(team, report);
+            }
+            report.addTeamsChecked(batch.size());
+        });
+    }
+
+    //Waits for the oldest batches so only a few are held in memory at once
+    private void throttle(List<Future<?>> inFlight) throws Exception {
+        while (inFlight.size() > threads * 2) {
+            inFlight.remove(0).get();
+        }
+    }
+
+    private void check(TeamRows team, ValidationReport report) {
+        int leaders = 0;
+        int thinkers = 0;
+        for (String personality : team.personalities) {
+            if (personality.equals("Leader")) leaders++;
+            else if (personality.equals("Thinker")) thinkers++;
+        }
+
+        if (leaderRule != null && leaders != requiredLeaders) report.addViolation(leaderRule, team.teamName);
+        if (thinkerRule != null && thinkers > maxThinkers) report.addViolation(thinkerRule, team.teamName);
+
+        Map<String, Integer> gameCounts = new HashMap<>();
+        for (String game : team.games) {
+            if (gameCounts.merge(game, 1, Integer::sum) == maxSameGame + 1) {
+                report.addViolation(gameRule, team.teamName);
+                break;
+            }
+        }
+    }
+
+    private static class TeamRows {
+        private String teamName;
+        private List<String> personalities = new ArrayList<>();
+        private List<String> games = new ArrayList<>();
+
+        private TeamRows(String teamName) {
+            this.teamName = teamName;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String path = args.length > 0 ? args[0] : "datafiles/formed_teams.csv";
+        TeamValidator validator = new TeamValidator(TeamRules.defaults(), Runtime.getRuntime().availableProcessors());
+
+        ValidationReport report = validator.validate(path);
+        report.print(20);
+        System.exit(report.isClean() ? 0 : 1);
+    }
+}
@@ -0,0 +1,86 @@
+package Logic;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Violation counts and offending teams per rule, filled in concurrently by TeamValidator.
+//Counts are exact; only the first maxStored offending team names per rule are kept.
+public class ValidationReport {
+    private int maxStored;
+    private Map<String, AtomicLong> counts = new LinkedHashMap<>();
+    private Map<String, ConcurrentLinkedQueue<String>> offenders = new LinkedHashMap<>();
+    private AtomicLong teamsChecked = new AtomicLong();
+    private AtomicLong malformedRows = new AtomicLong();
+
+    //All rules are registered up front so the maps are only read while validating
+    public ValidationReport(List<String> rules, int maxStored) {
+        this.maxStored = maxStored;
+        for (String rule : rules) {
+            counts.put(rule, new AtomicLong());
+            offenders.put(rule, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    void addViolation(String rule, String teamName) {
+        if (counts.get(rule).incrementAndGet() <= maxStored) {
+            offenders.get(rule).add(teamName);
+        }
+    }
+
+    void addTeamsChecked(long teams) {
+        teamsChecked.addAndGet(teams);
+    }
+
+    void addMalformedRow() {
+        malformedRows.incrementAndGet();
+    }
+
+    public long getViolationCount(String rule) {
+        return counts.get(rule).get();
+    }
+
+    //Up to maxStored of the offending teams, in no particular order
+    public List<String> getOffendingTeams(String rule) {
+        return new ArrayList<>(offenders.get(rule));
+    }
+
+    public long getTeamsChecked() {
+        return teamsChecked.get();
+    }
+
+    public long getMalformedRows() {
+        return malformedRows.get();
+    }
+
+    public boolean isClean() {
+        if (malformedRows.get() > 0) return false;
+        for (AtomicLong count : counts.values()) {
+            if (count.get() > 0) return false;
+        }
+        return true;
+    }
+
+    //Prints counts per rule and up to maxListed offending teams for each
+    public void print(int maxListed) {
+        System.out.println("\n════════════════ TEAM VALIDATION ════════════════");
+        System.out.println("Teams checked: " + teamsChecked.get());
+        if (malformedRows.get() > 0) {
+            System.out.println("Malformed rows: " + malformedRows.get());
+        }
+
+        for (Map.Entry<String, AtomicLong> entry : counts.entrySet()) {
+            System.out.printf("%-40s %d%n", entry.getKey(), entry.getValue().get());
+
+            List<String> teams = getOffendingTeams(entry.getKey());
+            if (teams.isEmpty()) continue;
+            List<String> shown = teams.subList(0, Math.min(maxListed, teams.size()));
+            System.out.println("   " + String.join(", ", shown) + (entry.getValue().get() > shown.size() ? ", ..." : ""));
+        }
+
+        System.out.println(isClean() ? "Result: PASS" : "Result: FAIL");
+    }
+}
@@ -1,11 +1,19 @@
 import filehandling.CSVFileHandler;
+import filehandling.TeamsFileIndex;
+import Logic.StreamingTeamFormer;
 import Logic.TeamBuilder;
 import model.Participant;
+import model.Roster;
 import model.Team;
 import Logic.Survey;
+import view.PagedView;
 
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -13,9 +21,23 @@ import java.util.concurrent.Executors;
 public class TeamMate {
     private static CSVFileHandler fileHandler = new CSVFileHandler();
     private static List<Participant> participants;
+    private static Roster roster; // indexed view of the participants for lookups
     private static Scanner scanner = new Scanner(System.in);
+    private static final int PAGE_SIZE = 20;
+    private static final int TOP_TEAMS = 5;
+    private static final int VERBOSE_LIMIT = 200; // above this many participants, skip per-placement output
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            runBatch(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--stream")) {
+            // Same as --batch for rosters too large for memory: TeamMate --stream [in] [teamSize] [out] [teamsPerBatch]
+            StreamingTeamFormer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         System.out.println("║           TEAMMATE SYSTEM            ║");
         System.out.println("║    Intelligent Team Formation        ║");
 
@@ -46,6 +68,9 @@ public class TeamMate {
                     reloadData();
                     break;
                 case 6:
+                    searchParticipants();
+                    break;
+                case 7:
                     System.out.println("\nThank you for using TeamMate System!");
                     exit = true;
                     break;
@@ -56,6 +81,50 @@ public class TeamMate {
         scanner.close();
     }
 
+    //Non-interactive load-form-save run for batch jobs:
+    //TeamMate --batch [participantsFile] [teamSize] [teamsFile]
+    private static void runBatch(String[] args) {
+        String inputPath = args.length > 1 ? args[1] : "datafiles/participants_sample.csv";
+        int teamSize;
+        try {
+            teamSize = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        } catch (NumberFormatException e) {
+            teamSize = -1;
+        }
+        if (teamSize < 1) {
+            System.out.println("Usage: TeamMate --batch [participantsFile] [teamSize] [teamsFile]");
+            System.exit(1);
+        }
+        String outputPath = args.length > 3 ? args[3] : "datafiles/formed_teams.csv";
+
+        participants = fileHandler.loadParticipants(inputPath);
+        if (participants.size() < teamSize) {
+            System.out.println("Not enough participants! Need at least " + teamSize + ", but have " + participants.size());
+            System.exit(1);
+        }
+
+        TeamBuilder builder = new TeamBuilder(participants, teamSize);
+        builder.setVerbose(false);
+        loadRelations(builder);
+        try {
+            List<Team> teams = builder.call();
+            System.out.println(" Successfully formed " + teams.size() + " teams!");
+            fileHandler.saveTeams(teams, outputPath);
+        } catch (Exception e) {
+            System.out.println(" Error forming teams: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    //Pre-formed groups and avoid pairs are optional, used whenever the relations file exists
+    private static void loadRelations(TeamBuilder builder) {
+        String relationsPath = "datafiles/participant_relations.csv";
+        if (new java.io.File(relationsPath).exists()) {
+            builder.setRelations(fileHandler.loadRelations(relationsPath));
+            System.out.println("Using participant relations from: " + relationsPath);
+        }
+    }
+
     private static void displayMainMenu() {
         System.out.println("\n════════════════ MAIN MENU ════════════════");
         System.out.println("1. View All Participants");
@@ -63,9 +132,10 @@ public class TeamMate {
         System.out.println("3. Form Teams");
         System.out.println("4. View Team Statistics");
         System.out.println("5. Reload  Participant Data from CSV");
-        System.out.println("6. Exit");
+        System.out.println("6. Search Participants");
+        System.out.println("7. Exit");
         System.out.println("════════════════════════════════════════════");
-        System.out.print("Enter your choice (1-6): ");
+        System.out.print("Enter your choice (1-7): ");
     }
 
     private static int getMenuChoice() {
@@ -80,6 +150,7 @@ public class TeamMate {
         String inputPath = "datafiles/participants_sample.csv";
         System.out.println("\nLoading participants from: " + inputPath);
         participants = fileHandler.loadParticipants(inputPath);
+        roster = new Roster(participants);
         System.out.println(" Successfully loaded " + participants.size() + " participants");
     }
 
@@ -90,20 +161,20 @@ public class TeamMate {
         }
 
         System.out.println("\n════════════════ ALL PARTICIPANTS ════════════════");
-        System.out.printf("%-8s %-20s %-15s %-12s %-6s %-12s%n",
-                "ID", "Name", "Game", "Role", "Skill", "Personality");
-        System.out.println("─────────────────────────────────────────────────────────");
-
-        for (Participant p : participants) {
-            System.out.printf("%-8s %-20s %-15s %-12s %-6d %-12s%n",
-                    p.getId(),
-                    p.getName().length() > 18 ? p.getName().substring(0, 15) + "..." : p.getName(),
-                    p.getPreferredGame(),
-                    p.getPreferredRole(),
-                    p.getSkillLevel(),
-                    p.getPersonalityType());
+        System.out.println("Sort by: 1. File order  2. Skill (high-low)  3. Skill (low-high)  4. Name");
+        System.out.print("Enter your choice (blank for 1): ");
+        Comparator<Participant> order = null; // file order
+        switch (scanner.nextLine().trim()) {
+            case "2": order = Comparator.comparingInt(Participant::getSkillLevel).reversed(); break;
+            case "3": order = Comparator.comparingInt(Participant::getSkillLevel); break;
+            case "4": order = Comparator.comparing(Participant::getName); break;
         }
 
+        new PagedView<>(participants, PAGE_SIZE, TeamMate::formatParticipantRow)
+                .sortedBy(order)
+                .header(PARTICIPANT_HEADER)
+                .browse(scanner);
+
         // Show statistics
         showParticipantStatistics();
 
@@ -111,24 +182,85 @@ public class TeamMate {
         scanner.nextLine();
     }
 
+    private static final String PARTICIPANT_HEADER = String.format("%-8s %-20s %-15s %-12s %-6s %-12s%n",
+            "ID", "Name", "Game", "Role", "Skill", "Personality")
+            + "─────────────────────────────────────────────────────────";
+
+    private static String formatParticipantRow(Participant p) {
+        return String.format("%-8s %-20s %-15s %-12s %-6d %-12s",
+                p.getId(),
+                p.getName().length() > 18 ? p.getName().substring(0, 15) + "..." : p.getName(),
+                p.getPreferredGame(),
+                p.getPreferredRole(),
+                p.getSkillLevel(),
+                p.getPersonalityType());
+    }
+
+    //Looks up by ID or email, or filters by game/role/personality/skill using the roster indexes
+    private static void searchParticipants() {
+        System.out.println("\n════════════════ SEARCH PARTICIPANTS ════════════════");
+        System.out.print("Enter ID or email (leave blank to filter): ");
+        String key = scanner.nextLine().trim();
+
+        List<Participant> results;
+        if (!key.isEmpty()) {
+            Participant p = key.contains("@") ? roster.findByEmail(key) : roster.findById(key);
+            results = p != null ? List.of(p) : List.of();
+        } else {
+            String game = askFilter("Game");
+            String role = askFilter("Role");
+            String personality = askFilter("Personality type");
+            int minSkill = askSkill("Minimum skill", 1);
+            int maxSkill = askSkill("Maximum skill", 10);
+            results = roster.query(game, role, personality, minSkill, maxSkill);
+        }
+
+        if (results.isEmpty()) {
+            System.out.println("No matching participants");
+            System.out.print("\nPress Enter to continue.");
+            scanner.nextLine();
+        } else {
+            new PagedView<>(results, PAGE_SIZE, TeamMate::formatParticipantRow)
+                    .header(PARTICIPANT_HEADER)
+                    .browse(scanner);
+        }
+    }
+
+    //Blank means any value
+    private static String askFilter(String label) {
+        System.out.print(label + " (blank for any): ");
+        String value = scanner.nextLine().trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int askSkill(String label, int defaultValue) {
+        System.out.print(label + " (blank for " + defaultValue + "): ");
+        try {
+            return Integer.parseInt(scanner.nextLine().trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     private static void showParticipantStatistics() {
-        long leaders = participants.stream().filter(p -> p.getPersonalityType().equals("Leader")).count();
-        long thinkers = participants.stream().filter(p -> p.getPersonalityType().equals("Thinker")).count();
-        long balanced = participants.stream().filter(p -> p.getPersonalityType().equals("Balanced")).count();
+        // Counted from the roster indexes rather than scanning the list per value
+        int leaders = roster.countByPersonality("Leader");
+        int thinkers = roster.countByPersonality("Thinker");
+        int balanced = roster.countByPersonality("Balanced");
 
         System.out.println("\nPARTICIPANT STATISTICS:");
         System.out.println("   Leaders: " + leaders + " | Thinkers: " + thinkers + " | Balanced: " + balanced);
 
         // Show games distribution
-        System.out.print("   Games: ");
-        participants.stream()
-                .map(Participant::getPreferredGame)
-                .distinct()
-                .forEach(game -> {
-                    long count = participants.stream().filter(p -> p.getPreferredGame().equals(game)).count();
-                    System.out.print(game + "(" + count + ") ");
-                });
-        System.out.println();
+        Map<String, Integer> games = new LinkedHashMap<>();
+        for (Participant p : participants) {
+            games.merge(p.getPreferredGame(), 1, Integer::sum);
+        }
+        StringBuilder sb = new StringBuilder("   Games: ");
+        for (Map.Entry<String, Integer> entry : games.entrySet()) {
+            sb.append(entry.getKey()).append("(").append(entry.getValue()).append(") ");
+        }
+        System.out.println(sb);
     }
 
     private static void formTeams() {
@@ -162,6 +294,9 @@ public class TeamMate {
 
         // Run team formation with concurrency
         TeamBuilder builder = new TeamBuilder(participants, teamSize);
+        builder.setVerbose(participants.size() <= VERBOSE_LIMIT);
+
+        loadRelations(builder);
         ExecutorService executor = Executors.newSingleThreadExecutor();
 
         try {
@@ -184,11 +319,21 @@ public class TeamMate {
             System.out.println(" Successfully formed " + teams.size() + " teams!");
             System.out.println(" Teams saved to: " + outputPath);
 
-            // Show quick summary
-            System.out.println(" TEAM SUMMARY:");
-            for (Team team : teams) {
-                System.out.printf("   %s: %d members, Avg Skill: %.1f%n",
-                        team.getTeamName(), team.getTeamSize(), team.getAverageSkill());
+            // Show quick summary: only the extremes, the full list is paged on request
+            PagedView<Team> summary = new PagedView<>(teams, PAGE_SIZE, TeamMate::formatTeamSummary);
+            java.io.Writer out = new java.io.BufferedWriter(new java.io.OutputStreamWriter(System.out));
+
+            System.out.println(" MOST SKILLED TEAMS:");
+            summary.sortedBy(Comparator.comparingDouble(Team::getAverageSkill).reversed())
+                    .renderRows(summary.top(TOP_TEAMS), out);
+            System.out.println(" LEAST SKILLED TEAMS:");
+            summary.sortedBy(Comparator.comparingDouble(Team::getAverageSkill))
+                    .renderRows(summary.top(TOP_TEAMS), out);
+
+            System.out.print("\nView all teams? (y/n): ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                summary.sortedBy(null).header(" TEAM SUMMARY:").browse(scanner);
+                return;
             }
 
         } catch (Exception e) {
@@ -201,6 +346,11 @@ public class TeamMate {
         scanner.nextLine();
     }
 
+    private static String formatTeamSummary(Team team) {
+        return String.format("   %s: %d members, Avg Skill: %.1f",
+                team.getTeamName(), team.getTeamSize(), team.getAverageSkill());
+    }
+
     private static void viewTeamStatistics() {
         String teamsPath = "datafiles/formed_teams.csv";
         java.io.File file = new java.io.File(teamsPath);
@@ -214,84 +364,18 @@ public class TeamMate {
         System.out.println("Loaded from: " + teamsPath);
 
         try {
-            List<String> lines = java.nio.file.Files.readAllLines(file.toPath());
-
-            if (lines.isEmpty()) {
+            // Only the teams on the page being shown are read from the file
+            TeamsFileIndex teams = new TeamsFileIndex(teamsPath);
+            if (teams.isEmpty()) {
                 System.out.println("Teams file is empty.");
                 return;
             }
 
-            java.util.Map<String, Team> teamMap = new java.util.HashMap<>();
-
-            for (String line : lines.subList(1, lines.size())) {
-                String[] data = line.split(",");
-
-                if (data.length < 7) continue;
-
-                String teamName = data[0].trim();
-                String id = data[1].trim();
-                String name = data[2].trim();
-                String role = data[3].trim();
-                String personality = data[4].trim();
-                String game = data[5].trim();
-                int skill = Integer.parseInt(data[6].trim());
-
-                Participant p = new Participant(
-                        id,
-                        name,
-                        "",          // email not stored
-                        game,
-                        skill,
-                        role,
-                        0,           // personality score not needed
-                        personality
-                );
-
-                teamMap.putIfAbsent(teamName, new Team(teamName));
-                teamMap.get(teamName).addMember(p);
-            }
-
-            // Print statistics
-            System.out.println("\nTEAM SUMMARY:");
-            for (Team team : teamMap.values()) {
-                System.out.println("\n------------------------------------------------------");
-                System.out.println("Team: " + team.getTeamName());
-                System.out.println("Members: " + team.getTeamSize());
-                System.out.printf("Average Skill: %.2f%n", team.getAverageSkill());
-
-                long leaders = team.getMembers().stream().filter(p -> p.getPersonalityType().equals("Leader")).count();
-                long thinkers = team.getMembers().stream().filter(p -> p.getPersonalityType().equals("Thinker")).count();
-                long balanced = team.getMembers().stream().filter(p -> p.getPersonalityType().equals("Balanced")).count();
-
-                System.out.println("Personality Breakdown:");
-                System.out.println("   Leaders: " + leaders);
-                System.out.println("   Thinkers: " + thinkers);
-                System.out.println("   Balanced: " + balanced);
-
-                System.out.println("Role Distribution:");
-                team.getMembers().stream()
-                        .map(Participant::getPreferredRole)
-                        .distinct()
-                        .forEach(roleType -> {
-                            long count = team.getMembers().stream()
-                                    .filter(p -> p.getPreferredRole().equals(roleType))
-                                    .count();
-                            System.out.println("   " + roleType + ": " + count);
-                        });
-
-                System.out.println("Game Distribution:");
-                team.getMembers().stream()
-                        .map(Participant::getPreferredGame)
-                        .distinct()
-                        .forEach(gameType -> {
-                            long count = team.getMembers().stream()
-                                    .filter(p -> p.getPreferredGame().equals(gameType))
-                                    .count();
-                            System.out.println("   " + gameType + ": " + count);
-                        });
-
-
-            }
+            // Print statistics, a page of teams at a time
+            new PagedView<>(teams, 5, TeamMate::formatTeamStatistics)
+                    .header("\nTEAM SUMMARY:")
+                    .browse(scanner);
+            return;
 
         } catch (Exception e) {
             System.out.println("Error reading teams: " + e.getMessage());
@@ -302,6 +386,44 @@ public class TeamMate {
     }
 
 
+    //Statistics block for one team, built only when its page is shown
+    private static String formatTeamStatistics(Team team) {
+        int leaders = 0, thinkers = 0, balanced = 0;
+        Map<String, Integer> roles = new LinkedHashMap<>();
+        Map<String, Integer> games = new LinkedHashMap<>();
+        for (Participant p : team.getMembers()) {
+            switch (p.getPersonalityType()) {
+                case "Leader": leaders++; break;
+                case "Thinker": thinkers++; break;
+                case "Balanced": balanced++; break;
+            }
+            roles.merge(p.getPreferredRole(), 1, Integer::sum);
+            games.merge(p.getPreferredGame(), 1, Integer::sum);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n------------------------------------------------------\n");
+        sb.append("Team: ").append(team.getTeamName()).append("\n");
+        sb.append("Members: ").append(team.getTeamSize()).append("\n");
+        sb.append(String.format("Average Skill: %.2f%n", team.getAverageSkill()));
+
+        sb.append("Personality Breakdown:\n");
+        sb.append("   Leaders: ").append(leaders).append("\n");
+        sb.append("   Thinkers: ").append(thinkers).append("\n");
+        sb.append("   Balanced: ").append(balanced).append("\n");
+
+        sb.append("Role Distribution:\n");
+        for (Map.Entry<String, Integer> entry : roles.entrySet()) {
+            sb.append("   ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+        }
+
+        sb.append("Game Distribution:");
+        for (Map.Entry<String, Integer> entry : games.entrySet()) {
+            sb.append("\n   ").append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        return sb.toString();
+    }
+
     private static void reloadData() {
         System.out.println("\nReloading data from CSV");
         loadParticipants();
@@ -0,0 +1,134 @@
+package benchmark;
+
+import Logic.OptimalTeamBuilder;
+import Logic.PlacementMode;
+import Logic.TeamBuilder;
+import filehandling.CSVFileHandler;
+import model.Participant;
+import model.Team;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+//Compares the greedy TeamBuilder (round robin and snake draft) with OptimalTeamBuilder on team balance and runtime.
+//Usage: java benchmark.SolverBenchmark [teamSize] [timeLimitMillis]
+public class SolverBenchmark {
+    private static final String[] GAMES = {"Chess", "FIFA", "Basketball", "CS:GO", "DOTA 2", "Valorant"};
+    private static final String[] ROLES = {"Strategist", "Attacker", "Defender", "Supporter", "Coordinator"};
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int teamSize = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        long timeLimit = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+
+        System.out.printf("%-22s %-8s %10s %10s %10s %12s%n",
+                "Roster", "Solver", "Skill SD", "Spread", "Dup roles", "Time (ms)");
+        System.out.println("─────────────────────────────────────────────────────────────────────────────");
+
+        List<Participant> sample = new CSVFileHandler().loadParticipants("datafiles/participants_sample.csv");
+        if (!sample.isEmpty()) {
+            compare("sample (" + sample.size() + ")", sample, teamSize, timeLimit);
+        }
+
+        for (int size : new int[]{100, 500, 1000, 2000}) {
+            compare("generated (" + size + ")", generate(size, new Random(size)), teamSize, timeLimit);
+        }
+        System.out.println("* hit the " + timeLimit + "ms limit, rest of the Balanced fill placed greedily");
+    }
+
+    private static void compare(String label, List<Participant> participants, int teamSize, long timeLimit) throws Exception {
+        run(label, "greedy", participants, teamSize, () -> new TeamBuilder(participants, teamSize));
+        run(label, "snake", participants, teamSize, () -> snake(new TeamBuilder(participants, teamSize)));
+        run(label, "optimal", participants, teamSize, () -> new OptimalTeamBuilder(participants, teamSize, timeLimit));
+    }
+
+    private static void run(String label, String solver, List<Participant> participants, int teamSize,
+                            BuilderFactory factory) throws Exception {
+        // Warm up once so the JIT doesn't count against the first timed run
+        quiet(factory.create()).call();
+
+        long best = Long.MAX_VALUE;
+        List<Team> teams = null;
+        boolean timedOut = false;
+        for (int i = 0; i < RUNS; i++) {
+            TeamBuilder builder = quiet(factory.create());
+            long start = System.nanoTime();
+            teams = builder.call();
+            best = Math.min(best, System.nanoTime() - start);
+            if (builder instanceof OptimalTeamBuilder && ((OptimalTeamBuilder) builder).hitTimeLimit()) timedOut = true;
+        }
+
+        // * marks a solver that hit its time limit and finished greedily
+        System.out.printf("%-22s %-8s %10.3f %10.2f %10d %12.2f%n",
+                label, timedOut ? solver + "*" : solver, skillDeviation(teams, teamSize), skillSpread(teams, teamSize),
+                duplicateRoles(teams), best / 1_000_000.0);
+    }
+
+    private static TeamBuilder snake(TeamBuilder builder) {
+        builder.setPlacementMode(PlacementMode.SNAKE_DRAFT);
+        return builder;
+    }
+
+    private static TeamBuilder quiet(TeamBuilder builder) {
+        builder.setVerbose(false);
+        return builder;
+    }
+
+    //Standard deviation of the average skill of full teams
+    private static double skillDeviation(List<Team> teams, int teamSize) {
+        double sum = 0, sumSq = 0;
+        int n = 0;
+        for (Team team : teams) {
+            if (team.getTeamSize() != teamSize) continue;
+            double avg = team.getAverageSkill();
+            sum += avg;
+            sumSq += avg * avg;
+            n++;
+        }
+        if (n == 0) return 0;
+        double mean = sum / n;
+        return Math.sqrt(Math.max(0, sumSq / n - mean * mean));
+    }
+
+    //Gap between the best and worst average skill of full teams
+    private static double skillSpread(List<Team> teams, int teamSize) {
+        double min = Double.MAX_VALUE, max = 0;
+        for (Team team : teams) {
+            if (team.getTeamSize() != teamSize) continue;
+            min = Math.min(min, team.getAverageSkill());
+            max = Math.max(max, team.getAverageSkill());
+        }
+        return max >= min ? max - min : 0;
+    }
+
+    //Members whose preferred role is already taken in their team
+    private static int duplicateRoles(List<Team> teams) {
+        int duplicates = 0;
+        for (Team team : teams) {
+            Set<String> roles = new HashSet<>();
+            for (Participant p : team.getMembers()) {
+                if (!roles.add(p.getPreferredRole())) duplicates++;
+            }
+        }
+        return duplicates;
+    }
+
+    private static List<Participant> generate(int count, Random random) {
+        List<Participant> list = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            int score = 4 * (5 + random.nextInt(21)); // five answers of 1-5, times 4
+            String type = score >= 90 ? "Leader" : score < 70 ? "Thinker" : "Balanced";
+            list.add(new Participant(String.format("P%03d", i), "Participant_" + i, "user" + i + "@university.edu",
+                    GAMES[random.nextInt(GAMES.length)], 1 + random.nextInt(10),
+                    ROLES[random.nextInt(ROLES.length)], score, type));
+        }
+        return list;
+    }
+
+    private interface BuilderFactory {
+        TeamBuilder create();
+    }
+}
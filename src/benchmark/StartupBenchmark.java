@@ -0,0 +1,86 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+//Measures time-to-first-team for fresh TeamMate --batch processes, with and without the AppCDS archive.
+//Time runs from process launch until TeamMate reports the formed teams.
+//Usage: java benchmark.StartupBenchmark <teammate.jar> <archive.jsa> [runs] [participantsFile] [aotCache]
+//The AOT cache (JDK 24+) is only measured when given.
+public class StartupBenchmark {
+    private static final String READY_LINE = "Successfully formed";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: java benchmark.StartupBenchmark <teammate.jar> <archive.jsa> [runs] [participantsFile] [aotCache]");
+            return;
+        }
+        String classpath = args[0]; // a jar, class sharing skips directories
+        String archive = args[1];
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        String input = args.length > 3 ? args[3] : "datafiles/participants_sample.csv";
+        String aotCache = args.length > 4 ? args[4] : null;
+
+        File output = File.createTempFile("teammate-bench", ".csv");
+        output.deleteOnExit();
+
+        System.out.printf("%-22s %10s %10s %10s%n", "Mode", "Min ms", "Median ms", "Mean ms");
+        System.out.println("──────────────────────────────────────────────────────");
+        measure("no class sharing", runs, classpath, input, output, "-Xshare:off");
+        measure("JDK default CDS", runs, classpath, input, output, null);
+        measure("AppCDS archive", runs, classpath, input, output, "-XX:SharedArchiveFile=" + archive);
+        if (aotCache != null) {
+            measure("AOT cache", runs, classpath, input, output, "-XX:AOTCache=" + aotCache);
+        }
+    }
+
+    private static void measure(String label, int runs, String classpath, String input, File output,
+                                String jvmOption) throws Exception {
+        // One untimed launch so disk caches are warm for every mode
+        launch(classpath, input, output, jvmOption);
+
+        List<Double> times = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            times.add(launch(classpath, input, output, jvmOption));
+        }
+
+        Collections.sort(times);
+        double sum = 0;
+        for (double t : times) sum += t;
+        System.out.printf("%-22s %10.1f %10.1f %10.1f%n",
+                label, times.get(0), times.get(times.size() / 2), sum / times.size());
+    }
+
+    //Returns milliseconds until the process printed the ready line
+    private static double launch(String classpath, String input, File output, String jvmOption) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        if (jvmOption != null) command.add(jvmOption);
+        command.add("-cp");
+        command.add(classpath);
+        command.add("TeamMate");
+        command.add("--batch");
+        command.add(input);
+        command.add("5");
+        command.add(output.getPath());
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        long ready = -1;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (ready < 0 && line.contains(READY_LINE)) ready = System.nanoTime();
+            }
+        }
+        if (process.waitFor() != 0 || ready < 0) {
+            throw new IllegalStateException("TeamMate --batch failed: " + String.join(" ", command));
+        }
+        return (ready - start) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,65 @@
+package benchmark;
+
+import Logic.SurveySessionRunner;
+import model.Participant;
+import model.Roster;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+//Runs many scripted survey sessions concurrently through SurveySessionRunner and checks that
+//every completed session landed in the roster exactly once with a unique ID.
+//Usage: java benchmark.SurveyLoadCheck [sessions]   (exit code 1 if a check fails)
+public class SurveyLoadCheck {
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+
+        Roster roster = new Roster(new ArrayList<>());
+        List<InputStream> inputs = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            inputs.add(new ByteArrayInputStream(script(i).getBytes(StandardCharsets.UTF_8)));
+        }
+
+        int before = roster.size();
+        long start = System.nanoTime();
+        SurveySessionRunner.SessionResults results = new SurveySessionRunner(roster)
+                .runSessions(inputs, OutputStream.nullOutputStream());
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        List<Participant> completed = results.getCompleted();
+        Set<String> ids = new HashSet<>();
+        for (Participant p : completed) {
+            ids.add(p.getId());
+        }
+
+        System.out.printf("%d sessions in %.1f ms: %d completed, %d rejected, %d failed%n",
+                sessions, millis, completed.size(), results.getRejected(), results.getFailures().size());
+
+        boolean ok = true;
+        ok &= check("every session completed", completed.size() == sessions);
+        ok &= check("completed count matches roster growth", completed.size() == roster.size() - before);
+        ok &= check("IDs are unique", ids.size() == completed.size());
+        System.exit(ok ? 0 : 1);
+    }
+
+    //Answers for one session, including one invalid name and email to exercise the retry loops
+    private static String script(int i) {
+        return String.join("\n",
+                "Bob 1", "Bob",
+                "not-an-email", "user" + i + "@university.edu",
+                "5", "4", "3", "2", "1",
+                "chess", "attacker", "7") + "\n";
+    }
+
+    private static boolean check(String label, boolean passed) {
+        System.out.println((passed ? "PASS " : "FAIL ") + label);
+        return passed;
+    }
+}
@@ -2,6 +2,7 @@ package filehandling;
 
 import Exceptions.InvalidDataException;
 import model.Participant;
+import model.ParticipantRelations;
 import model.Team;
 
 import java.io.*;
@@ -9,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class CSVFileHandler {
+    public static final String TEAMS_HEADER = "Team Name,ID,Name,Role,Personality,Game,Skill";
 
     //Load participants method
     public List<Participant> loadParticipants(String filePath) {
@@ -28,34 +30,80 @@ public class CSVFileHandler {
             //Read each row
             while ((line = br.readLine()) != null) {
                 try {
-                    //Split each row by , and store values in an array
+                    list.add(parseParticipant(line));
+
+                } catch (Exception e) {
+                    // Catch both number format errors and  custom invalid data error
+                    System.out.println("Skipping invalid row: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+        }
+        return list;
+    }
+
+    //Load must-together and avoid relations (Relation,ParticipantA,ParticipantB)
+    public ParticipantRelations loadRelations(String filePath) {
+        ParticipantRelations relations = new ParticipantRelations();
+        String line;
+
+        File f = new File(filePath);
+        if(!f.exists()) {
+            System.out.println("Warning: File not found at " + filePath);
+            return relations;
+        }
+        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+            br.readLine(); // Skip header
+
+            while ((line = br.readLine()) != null) {
+                try {
                     String[] data = line.split(",");
-                    if (data.length < 8) {
+                    if (data.length < 3) {
                         throw new InvalidDataException("Row has missing data");
                     }
 
-                    //Reads each value
-                    String id = data[0].trim();
-                    String name = data[1].trim();
-                    String email = data[2].trim();
-                    String game = data[3].trim();
-                    int skill = Integer.parseInt(data[4].trim());
-                    String role = data[5].trim();
-                    int score = Integer.parseInt(data[6].trim());
-                    String type = data[7].trim(); // Read as String directly
-
+                    String relation = data[0].trim();
+                    String idA = data[1].trim();
+                    String idB = data[2].trim();
 
-                    list.add(new Participant(id, name, email, game, skill, role, score, type));
+                    if (relation.equalsIgnoreCase("Together")) {
+                        relations.addTogether(idA, idB);
+                    } else if (relation.equalsIgnoreCase("Apart")) {
+                        relations.addApart(idA, idB);
+                    } else {
+                        throw new InvalidDataException("Unknown relation " + relation);
+                    }
 
-                } catch (Exception e) {
-                    // Catch both number format errors and  custom invalid data error
+                } catch (InvalidDataException e) {
                     System.out.println("Skipping invalid row: " + e.getMessage());
                 }
             }
         } catch (IOException e) {
             System.out.println("Error reading file: " + e.getMessage());
         }
-        return list;
+        return relations;
+    }
+
+    //Parse one participants CSV row
+    public Participant parseParticipant(String line) throws InvalidDataException {
+        //Split each row by , and store values in an array
+        String[] data = line.split(",");
+        if (data.length < 8) {
+            throw new InvalidDataException("Row has missing data");
+        }
+
+        //Reads each value
+        String id = data[0].trim();
+        String name = data[1].trim();
+        String email = data[2].trim();
+        String game = data[3].trim();
+        int skill = Integer.parseInt(data[4].trim());
+        String role = data[5].trim();
+        int score = Integer.parseInt(data[6].trim());
+        String type = data[7].trim(); // Read as String directly
+
+        return new Participant(id, name, email, game, skill, role, score, type);
     }
 
     //Save participants method
@@ -66,16 +114,7 @@ public class CSVFileHandler {
             bw.newLine();
 
             for (Participant p : participants) {
-                String line = String.format("%s,%s,%s,%s,%d,%s,%d,%s",
-                        p.getId(),
-                        p.getName(),
-                        p.getEmail(),
-                        p.getPreferredGame(),
-                        p.getSkillLevel(),
-                        p.getPreferredRole(),
-                        p.getPersonalityScore(),
-                        p.getPersonalityType());
-                bw.write(line);
+                bw.write(formatParticipant(p));
                 bw.newLine();
             }
 
@@ -87,19 +126,11 @@ public class CSVFileHandler {
 
     public void saveTeams(List<Team> teams, String outputPath) {
         try (BufferedWriter bw = new BufferedWriter(new FileWriter(outputPath))) {
-            bw.write("Team Name,ID,Name,Role,Personality,Game,Skill\n");
+            bw.write(TEAMS_HEADER + "\n");
 
             for (Team team : teams) {
                 for (Participant p : team.getMembers()) {
-                    String line = String.format("%s,%s,%s,%s,%s,%s,%d",
-                            team.getTeamName(),
-                            p.getId(),
-                            p.getName(),
-                            p.getPreferredRole(),
-                            p.getPersonalityType(),
-                            p.getPreferredGame(),
-                            p.getSkillLevel());
-                    bw.write(line);
+                    bw.write(formatTeamRow(team.getTeamName(), p));
                     bw.newLine();
                 }
             }
@@ -108,4 +139,27 @@ public class CSVFileHandler {
             System.out.println("Error writing file: " + e.getMessage());
         }
     }
+
+    public String formatParticipant(Participant p) {
+        return String.format("%s,%s,%s,%s,%d,%s,%d,%s",
+                p.getId(),
+                p.getName(),
+                p.getEmail(),
+                p.getPreferredGame(),
+                p.getSkillLevel(),
+                p.getPreferredRole(),
+                p.getPersonalityScore(),
+                p.getPersonalityType());
+    }
+
+    public String formatTeamRow(String teamName, Participant p) {
+        return String.format("%s,%s,%s,%s,%s,%s,%d",
+                teamName,
+                p.getId(),
+                p.getName(),
+                p.getPreferredRole(),
+                p.getPersonalityType(),
+                p.getPreferredGame(),
+                p.getSkillLevel());
+    }
 }
\ No newline at end of file
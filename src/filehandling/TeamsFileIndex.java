@@ -0,0 +1,109 @@
+package filehandling;
+
+import model.Participant;
+import model.Team;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.Arrays;
+
+//Read-only list over a formed teams file. One pass records the byte offset where each team's rows
+//start; a Team is only built when get() asks for it, by reading just that team's rows.
+//Memory is one offset per team, however many rows the file has.
+public class TeamsFileIndex extends AbstractList<Team> {
+    private String path;
+    private long[] offsets = new long[64]; // start of each team's rows, plus the end of the file
+    private int teamCount;
+
+    public TeamsFileIndex(String path) throws IOException {
+        this.path = path;
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(path))) {
+            long position = 0;
+            long lineStart = 0;
+            int lineNumber = 0;
+            StringBuilder name = new StringBuilder(); // first column of the current line
+            boolean inName = true;
+            String previous = null;
+            int b;
+
+            do {
+                b = in.read();
+                if (b != -1 && b != '\n') {
+                    position++;
+                    if (inName && b == ',') inName = false;
+                    else if (inName) name.append((char) b);
+                    continue;
+                }
+
+                // End of a line: a new team starts where the team name changes (header and rows
+                // without a comma are skipped)
+                if (lineNumber++ > 0 && !inName && !name.toString().trim().equals(previous)) {
+                    previous = name.toString().trim();
+                    addOffset(lineStart);
+                }
+                if (b == '\n') position++;
+                name.setLength(0);
+                inName = true;
+                lineStart = position;
+            } while (b != -1);
+
+            offsets[teamCount] = position;
+        }
+    }
+
+    @Override
+    public Team get(int index) {
+        if (index < 0 || index >= teamCount) {
+            throw new IndexOutOfBoundsException("Team " + index + " of " + teamCount);
+        }
+
+        byte[] bytes = new byte[(int) (offsets[index + 1] - offsets[index])];
+        try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+            file.seek(offsets[index]);
+            file.readFully(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error reading teams file: " + e.getMessage(), e);
+        }
+
+        Team team = null;
+        for (String line : new String(bytes, Charset.defaultCharset()).split("\r?\n")) {
+            String[] data = line.split(",");
+            if (data.length < 7) continue;
+
+            try {
+                Participant p = new Participant(
+                        data[1].trim(),
+                        data[2].trim(),
+                        "",          // email not stored
+                        data[5].trim(),
+                        Integer.parseInt(data[6].trim()),
+                        data[3].trim(),
+                        0,           // personality score not needed
+                        data[4].trim());
+                if (team == null) team = new Team(data[0].trim());
+                team.addMember(p);
+            } catch (NumberFormatException e) {
+                // Skip rows with a bad skill value
+            }
+        }
+        return team != null ? team : new Team("(unreadable)");
+    }
+
+    @Override
+    public int size() {
+        return teamCount;
+    }
+
+    private void addOffset(long offset) {
+        if (teamCount + 1 >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[teamCount++] = offset;
+    }
+}
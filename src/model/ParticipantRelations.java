@@ -0,0 +1,35 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Pairs of participant IDs that must be in the same team or must be kept apart
+public class ParticipantRelations {
+    private List<String[]> together;
+    private List<String[]> apart;
+
+    public ParticipantRelations() {
+        this.together = new ArrayList<>();
+        this.apart = new ArrayList<>();
+    }
+
+    public void addTogether(String idA, String idB) {
+        together.add(new String[]{idA, idB});
+    }
+
+    public void addApart(String idA, String idB) {
+        apart.add(new String[]{idA, idB});
+    }
+
+    public List<String[]> getTogether() {
+        return together;
+    }
+
+    public List<String[]> getApart() {
+        return apart;
+    }
+
+    public boolean isEmpty() {
+        return together.isEmpty() && apart.isEmpty();
+    }
+}
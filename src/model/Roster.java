@@ -0,0 +1,160 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Thread-safe participant list shared by concurrent survey sessions.
+//Keeps hash indexes by ID and email, inverted indexes by game, role and personality type,
+//and a skill level index, so lookups and filtered views don't scan the whole roster.
+public class Roster {
+    private static final int MAX_SKILL = 10;
+
+    private final List<Participant> participants = new ArrayList<>();
+    private final AtomicInteger lastIdNumber = new AtomicInteger(); //track last ID to generate new ID
+
+    private final Map<String, Participant> byId = new HashMap<>();
+    private final Map<String, Participant> byEmail = new HashMap<>();
+    private final Map<String, List<Participant>> byGame = new HashMap<>();
+    private final Map<String, List<Participant>> byRole = new HashMap<>();
+    private final Map<String, List<Participant>> byPersonality = new HashMap<>();
+    private final List<List<Participant>> bySkill = new ArrayList<>();
+
+    public Roster(List<Participant> initial) {
+        for (int skill = 0; skill <= MAX_SKILL; skill++) {
+            bySkill.add(new ArrayList<>());
+        }
+
+        for (Participant p : initial) {
+            if (byId.containsKey(p.getId())) {
+                System.out.println("Duplicate ID in roster: " + p.getId());
+            } else if (byEmail.containsKey(emailKey(p.getEmail()))) {
+                System.out.println("Duplicate email in roster: " + p.getEmail());
+            }
+            index(p);
+        }
+    }
+
+    //Adds a new registration; returns false if the ID or email is already taken
+    public synchronized boolean add(Participant p) {
+        if (byId.containsKey(p.getId()) || byEmail.containsKey(emailKey(p.getEmail()))) {
+            return false;
+        }
+        index(p);
+        return true;
+    }
+
+    public synchronized boolean isEmailTaken(String email) {
+        return byEmail.containsKey(emailKey(email));
+    }
+
+    public synchronized Participant findById(String id) {
+        return byId.get(id);
+    }
+
+    public synchronized Participant findByEmail(String email) {
+        return byEmail.get(emailKey(email));
+    }
+
+    public synchronized List<Participant> findByGame(String game) {
+        return new ArrayList<>(byGame.getOrDefault(game, Collections.emptyList()));
+    }
+
+    public synchronized List<Participant> findByRole(String role) {
+        return new ArrayList<>(byRole.getOrDefault(role, Collections.emptyList()));
+    }
+
+    public synchronized List<Participant> findByPersonality(String personalityType) {
+        return new ArrayList<>(byPersonality.getOrDefault(personalityType, Collections.emptyList()));
+    }
+
+    //Counts straight from the indexes, without copying the matching participants
+    public synchronized int countByGame(String game) {
+        return byGame.getOrDefault(game, Collections.emptyList()).size();
+    }
+
+    public synchronized int countByRole(String role) {
+        return byRole.getOrDefault(role, Collections.emptyList()).size();
+    }
+
+    public synchronized int countByPersonality(String personalityType) {
+        return byPersonality.getOrDefault(personalityType, Collections.emptyList()).size();
+    }
+
+    public synchronized List<Participant> findBySkillRange(int minSkill, int maxSkill) {
+        List<Participant> result = new ArrayList<>();
+        for (int skill = Math.max(0, minSkill); skill <= Math.min(MAX_SKILL, maxSkill); skill++) {
+            result.addAll(bySkill.get(skill));
+        }
+        return result;
+    }
+
+    //Combined filter, null means any. Starts from the smallest matching index and checks the rest.
+    public synchronized List<Participant> query(String game, String role, String personalityType,
+                                                int minSkill, int maxSkill) {
+        List<Participant> candidates = null;
+        candidates = smaller(candidates, game == null ? null : byGame.getOrDefault(game, Collections.emptyList()));
+        candidates = smaller(candidates, role == null ? null : byRole.getOrDefault(role, Collections.emptyList()));
+        candidates = smaller(candidates, personalityType == null ? null
+                : byPersonality.getOrDefault(personalityType, Collections.emptyList()));
+
+        if (candidates == null) {
+            return findBySkillRange(minSkill, maxSkill);
+        }
+
+        List<Participant> result = new ArrayList<>();
+        for (Participant p : candidates) {
+            if (game != null && !p.getPreferredGame().equals(game)) continue;
+            if (role != null && !p.getPreferredRole().equals(role)) continue;
+            if (personalityType != null && !p.getPersonalityType().equals(personalityType)) continue;
+            if (p.getSkillLevel() < minSkill || p.getSkillLevel() > maxSkill) continue;
+            result.add(p);
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return participants.size();
+    }
+
+    //Copy of the current participants, safe to iterate while sessions keep adding
+    public synchronized List<Participant> snapshot() {
+        return new ArrayList<>(participants);
+    }
+
+    //ID generation Logic
+    public String nextId() {
+        return String.format("P%03d", lastIdNumber.incrementAndGet());
+    }
+
+    private void index(Participant p) {
+        participants.add(p);
+        byId.putIfAbsent(p.getId(), p);
+        byEmail.putIfAbsent(emailKey(p.getEmail()), p);
+        byGame.computeIfAbsent(p.getPreferredGame(), k -> new ArrayList<>()).add(p);
+        byRole.computeIfAbsent(p.getPreferredRole(), k -> new ArrayList<>()).add(p);
+        byPersonality.computeIfAbsent(p.getPersonalityType(), k -> new ArrayList<>()).add(p);
+        bySkill.get(Math.max(0, Math.min(MAX_SKILL, p.getSkillLevel()))).add(p);
+
+        // Keep the ID counter ahead of every ID in the roster
+        try {
+            int num = Integer.parseInt(p.getId().substring(1)); // remove 'P'
+            lastIdNumber.accumulateAndGet(num, Math::max);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            System.out.println("Skipping invalid ID: " + p.getId());
+        }
+    }
+
+    private static List<Participant> smaller(List<Participant> current, List<Participant> other) {
+        if (other == null) return current;
+        if (current == null || other.size() < current.size()) return other;
+        return current;
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? "" : email.trim().toLowerCase();
+    }
+}
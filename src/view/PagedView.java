@@ -0,0 +1,176 @@
+package view;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Scanner;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+//Page-at-a-time console view over a list. Only the rows on the requested page are formatted:
+//unsorted pages stop reading the source once the page is full (and unfiltered ones go straight to
+//the page by index, so lazy lists only load that page), sorted pages keep just the first
+//(page + 1) * pageSize rows in a bounded heap instead of sorting everything.
+public class PagedView<T> {
+    private List<T> source;
+    private int pageSize;
+    private Function<T, String> formatter;
+    private Predicate<T> filter; // null = every item
+    private Comparator<T> order;
+    private String header = "";
+    private int matchCount = -1; // counted on first use
+
+    public PagedView(List<T> source, int pageSize, Function<T, String> formatter) {
+        this.source = source;
+        this.pageSize = pageSize;
+        this.formatter = formatter;
+    }
+
+    public PagedView<T> filter(Predicate<T> filter) {
+        this.filter = filter;
+        this.matchCount = -1;
+        return this;
+    }
+
+    public PagedView<T> sortedBy(Comparator<T> order) {
+        this.order = order;
+        return this;
+    }
+
+    public PagedView<T> header(String header) {
+        this.header = header;
+        return this;
+    }
+
+    public int getMatchCount() {
+        if (matchCount < 0 && filter == null) {
+            matchCount = source.size();
+        } else if (matchCount < 0) {
+            int count = 0;
+            for (T item : source) {
+                if (filter.test(item)) count++;
+            }
+            matchCount = count;
+        }
+        return matchCount;
+    }
+
+    public int getPageCount() {
+        return Math.max(1, (getMatchCount() + pageSize - 1) / pageSize);
+    }
+
+    //Items on the given page (0-based)
+    public List<T> page(int pageIndex) {
+        int from = pageIndex * pageSize;
+        if (order != null) {
+            List<T> top = top(from + pageSize);
+            return from < top.size() ? top.subList(from, top.size()) : Collections.emptyList();
+        }
+        if (filter == null) {
+            return from < source.size() ? new ArrayList<>(source.subList(from, Math.min(source.size(), from + pageSize)))
+                    : Collections.emptyList();
+        }
+
+        List<T> rows = new ArrayList<>();
+        int seen = 0;
+        for (T item : source) {
+            if (!matches(item)) continue;
+            if (seen++ < from) continue;
+            rows.add(item);
+            if (rows.size() == pageSize) break;
+        }
+        return rows;
+    }
+
+    //First n matching items in sort order (source order if unsorted)
+    public List<T> top(int n) {
+        if (order == null) {
+            List<T> rows = new ArrayList<>();
+            for (T item : source) {
+                if (rows.size() == n) break;
+                if (matches(item)) rows.add(item);
+            }
+            return rows;
+        }
+
+        // Max-heap on the sort order holding the best n seen so far
+        PriorityQueue<T> heap = new PriorityQueue<>(Math.max(1, n), order.reversed());
+        for (T item : source) {
+            if (!matches(item)) continue;
+            if (heap.size() < n) {
+                heap.add(item);
+            } else if (n > 0 && order.compare(item, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+
+        List<T> rows = new ArrayList<>(heap);
+        rows.sort(order);
+        return rows;
+    }
+
+    private boolean matches(T item) {
+        return filter == null || filter.test(item);
+    }
+
+    //Writes the header and the formatted rows of one page in a single buffered chunk
+    public void render(int pageIndex, Writer out) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        if (!header.isEmpty()) sb.append(header).append(System.lineSeparator());
+        for (T item : page(pageIndex)) {
+            sb.append(formatter.apply(item)).append(System.lineSeparator());
+        }
+        sb.append(String.format("Page %d of %d (%d rows)%n", pageIndex + 1, getPageCount(), getMatchCount()));
+        out.write(sb.toString());
+        out.flush();
+    }
+
+    public void renderRows(List<T> rows, Writer out) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        if (!header.isEmpty()) sb.append(header).append(System.lineSeparator());
+        for (T item : rows) {
+            sb.append(formatter.apply(item)).append(System.lineSeparator());
+        }
+        out.write(sb.toString());
+        out.flush();
+    }
+
+    //Interactive paging on the console: n = next, p = previous, a number = go to page, q = quit
+    public void browse(Scanner scanner) {
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out));
+        int pageIndex = 0;
+
+        try {
+            while (true) {
+                render(pageIndex, out);
+                System.out.print("[n]ext, [p]revious, page number, [q]uit: ");
+                String input = scanner.nextLine().trim().toLowerCase();
+
+                if (input.equals("q")) {
+                    return;
+                } else if (input.equals("p")) {
+                    pageIndex = Math.max(0, pageIndex - 1);
+                } else if (input.isEmpty() || input.equals("n")) {
+                    if (pageIndex + 1 >= getPageCount()) return;
+                    pageIndex++;
+                } else {
+                    try {
+                        int page = Integer.parseInt(input);
+                        pageIndex = Math.max(0, Math.min(getPageCount() - 1, page - 1));
+                    } catch (NumberFormatException e) {
+                        System.out.println("Invalid option.");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error writing output: " + e.getMessage());
+        }
+    }
+}